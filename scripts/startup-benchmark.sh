@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of the plain jar, the AOT-processed jar and, when GraalVM's
+# native-image is installed, the native executable. Startup is measured from launch until the health
+# endpoint answers UP, and RSS is read once it does.
+#
+# Usage: scripts/startup-benchmark.sh [runs]   (SKIP_BUILD=1 reuses the artifacts kept in $OUT)
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT="${OUT:-${TMPDIR:-/tmp}/testing-startup}"
+mkdir -p "$OUT"
+cd "$ROOT"
+
+build() {
+    ./mvnw -B -q -DskipTests clean package
+    cp target/testing-*.jar "$OUT/plain.jar"
+    ./mvnw -B -q -DskipTests -Paot clean package
+    cp target/testing-*.jar "$OUT/aot.jar"
+    if command -v native-image > /dev/null; then
+        ./mvnw -B -q -DskipTests -Pnative native:compile
+        cp target/testing "$OUT/native"
+    fi
+}
+
+rss_kb() {
+    if [[ -r "/proc/$1/status" ]]; then
+        awk '/VmRSS/ {print $2}' "/proc/$1/status"
+    else
+        ps -o rss= -p "$1" | tr -d ' '
+    fi
+}
+
+now_ms() {
+    python3 -c 'import time; print(int(time.time() * 1000))'
+}
+
+# Prints "<startup ms> <rss kb>" for one launch of the given command
+measure() {
+    local start pid
+    start=$(now_ms)
+    "$@" --server.port="$PORT" --spring.main.banner-mode=off > "$OUT/last-run.log" 2>&1 &
+    pid=$!
+    until curl -fs "http://localhost:$PORT/actuator/health" 2> /dev/null | grep -q UP; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "The application exited during startup, see $OUT/last-run.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    echo "$(( $(now_ms) - start )) $(rss_kb "$pid")"
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+}
+
+median() {
+    sort -n | awk '{values[NR] = $1} END {print (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2}'
+}
+
+report() {
+    local name=$1 samples
+    shift
+    samples=$(for _ in $(seq "$RUNS"); do measure "$@"; done)
+    printf '%-8s %12s %10s\n' "$name" \
+        "$(cut -d' ' -f1 <<< "$samples" | median)" \
+        "$(( $(cut -d' ' -f2 <<< "$samples" | median | cut -d. -f1) / 1024 ))"
+}
+
+[[ "${SKIP_BUILD:-0}" == "1" ]] || build
+
+printf '%-8s %12s %10s\n' "build" "startup (ms)" "RSS (MB)"
+report plain java -jar "$OUT/plain.jar"
+report aot java -Dspring.aot.enabled=true -jar "$OUT/aot.jar"
+if [[ -x "$OUT/native" ]]; then
+    report native "$OUT/native"
+fi
@@ -0,0 +1,54 @@
+package com.unsa.testing.benchmarks;
+
+import com.unsa.testing.TestingApplication;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.services.EmployeeBatchService;
+import com.unsa.testing.domain.entities.Employee;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Iterator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+final class BenchmarkApplication {
+    private BenchmarkApplication() {
+    }
+
+    // Passed as arguments, since default properties would lose to the same keys in application.properties
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        String[] arguments = Stream.concat(Stream.of("spring.datasource.url=jdbc:h2:mem:" + database,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=warn"), Stream.of(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TestingApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments);
+    }
+
+    static long[] seed(ConfigurableApplicationContext context, int rows) {
+        Iterator<Employee> employees = LongStream.range(0, rows)
+                .mapToObj(BenchmarkApplication::employee)
+                .iterator();
+        return context.getBean(EmployeeBatchService.class)
+                .importEmployees(employees)
+                .getResults()
+                .stream()
+                .mapToLong(EmployeeImportResult::getId)
+                .toArray();
+    }
+
+    static Employee employee(long index) {
+        return Employee.builder()
+                .name("Angel")
+                .lastname("Hincho")
+                .email(email(index))
+                .build();
+    }
+
+    static String email(long index) {
+        return "employee" + index + "@unsa.edu.pe";
+    }
+}
@@ -0,0 +1,101 @@
+package com.unsa.testing.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.unsa.testing.domain.entities.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Compare wire size (the "bytes" counter) and CPU of the negotiated formats for one page of employees
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeFormatBenchmark {
+    @State(Scope.Benchmark)
+    public static class Page {
+        @Param({"json", "ndjson", "smile", "cbor"})
+        String format;
+        @Param({"false", "true"})
+        boolean gzip;
+        @Param({"50", "500"})
+        int size;
+        ObjectMapper objectMapper;
+        JavaType type;
+        List<Employee> employees;
+        byte[] payload;
+
+        @Setup
+        public void setup() throws Exception {
+            objectMapper = switch (format) {
+                case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+                case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+                default -> Jackson2ObjectMapperBuilder.json().build();
+            };
+            type = objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class);
+            employees = LongStream.range(0, size)
+                    .mapToObj(index -> {
+                        Employee employee = BenchmarkApplication.employee(index);
+                        employee.setId(index + 1);
+                        employee.setVersion(0L);
+                        employee.setUpdatedAt(Instant.parse("2024-06-01T10:15:30Z"));
+                        return employee;
+                    })
+                    .toList();
+            payload = write(this);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long bytes;
+    }
+
+    @Benchmark
+    public byte[] serializePage(Page page, WireSize wireSize) throws Exception {
+        byte[] payload = write(page);
+        wireSize.bytes = payload.length;
+        return payload;
+    }
+
+    @Benchmark
+    public List<Employee> deserializePage(Page page) throws Exception {
+        try (InputStream input = page.gzip
+                ? new GZIPInputStream(new ByteArrayInputStream(page.payload))
+                : new ByteArrayInputStream(page.payload)) {
+            if (page.format.equals("ndjson")) {
+                return page.objectMapper.readerFor(Employee.class).<Employee>readValues(input).readAll();
+            }
+            return page.objectMapper.readValue(input, page.type);
+        }
+    }
+
+    private static byte[] write(Page page) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream output = page.gzip ? new GZIPOutputStream(bytes) : bytes) {
+            if (page.format.equals("ndjson")) {
+                try (SequenceWriter lines = page.objectMapper.writer().withRootValueSeparator("\n").writeValues(output)) {
+                    lines.writeAll(page.employees);
+                }
+            } else {
+                page.objectMapper.writeValue(output, page.employees);
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,78 @@
+package com.unsa.testing.benchmarks;
+
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.services.EmployeeBatchService;
+import com.unsa.testing.application.services.EmployeeService;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeIdGenerator;
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Insert throughput by allocation size; over TCP every sequence call is a real round trip, in memory it is a method call.
+// trigramIndex=false drops the trigger that writes the contains-search postings, to price it on every insert
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeInsertBenchmark {
+    private static final int TRANSACTION_SIZE = 500;
+    @Param({"1", "50", "500"})
+    private int allocationSize;
+    @Param({"mem", "tcp"})
+    private String connection;
+    @Param({"true", "false"})
+    private boolean trigramIndex;
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeBatchService employeeBatchService;
+    private long nextEmail;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        String url = "jdbc:h2:mem:insert";
+        if (connection.equals("tcp")) {
+            server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:insert";
+        }
+        context = BenchmarkApplication.start("insert",
+                "spring.datasource.url=" + url,
+                EmployeeIdGenerator.ALLOCATION_SIZE + "=" + allocationSize,
+                "employee.search.trigram-index=" + trigramIndex);
+        employeeService = context.getBean(EmployeeService.class);
+        employeeBatchService = context.getBean(EmployeeBatchService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    // One employee per transaction, through the same checks and outbox write as POST /api/employee
+    @Benchmark
+    public Employee saveEmployee() {
+        return employeeService.saveEmployee(BenchmarkApplication.employee(nextEmail++));
+    }
+
+    // Many employees per transaction, where Hibernate batches the inserts; the score is employees per second
+    @Benchmark
+    @OperationsPerInvocation(TRANSACTION_SIZE)
+    public EmployeeImportReport importEmployees() {
+        Iterator<Employee> employees = LongStream.range(nextEmail, nextEmail + TRANSACTION_SIZE)
+                .mapToObj(BenchmarkApplication::employee)
+                .iterator();
+        nextEmail += TRANSACTION_SIZE;
+        return employeeBatchService.importEmployees(employees);
+    }
+}
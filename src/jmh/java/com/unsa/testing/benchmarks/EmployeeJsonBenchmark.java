@@ -0,0 +1,74 @@
+package com.unsa.testing.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unsa.testing.domain.entities.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+    @State(Scope.Benchmark)
+    public static class SingleEmployee {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Employee employee;
+        byte[] json;
+
+        @Setup
+        public void setup() throws Exception {
+            employee = BenchmarkApplication.employee(1L);
+            employee.setId(1L);
+            json = objectMapper.writeValueAsBytes(employee);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class EmployeeList {
+        @Param({"1000", "100000"})
+        int size;
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class);
+        List<Employee> employees;
+        byte[] json;
+
+        @Setup
+        public void setup() throws Exception {
+            employees = LongStream.range(0, size)
+                    .mapToObj(index -> {
+                        Employee employee = BenchmarkApplication.employee(index);
+                        employee.setId(index + 1);
+                        return employee;
+                    })
+                    .toList();
+            json = objectMapper.writeValueAsBytes(employees);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEmployee(SingleEmployee state) throws Exception {
+        return state.objectMapper.writeValueAsBytes(state.employee);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee(SingleEmployee state) throws Exception {
+        return state.objectMapper.readValue(state.json, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList(EmployeeList state) throws Exception {
+        return state.objectMapper.writeValueAsBytes(state.employees);
+    }
+
+    @Benchmark
+    public List<Employee> deserializeEmployeeList(EmployeeList state) throws Exception {
+        return state.objectMapper.readValue(state.json, state.type);
+    }
+}
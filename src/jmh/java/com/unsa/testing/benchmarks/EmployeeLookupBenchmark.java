@@ -0,0 +1,46 @@
+package com.unsa.testing.benchmarks;
+
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.repositories.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeLookupBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("lookup");
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        ids = BenchmarkApplication.seed(context, rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Employee> findById() {
+        return employeeRepository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Optional<Employee> findByEmail() {
+        return employeeRepository.findByEmail(BenchmarkApplication.email(ThreadLocalRandom.current().nextInt(rows)));
+    }
+}
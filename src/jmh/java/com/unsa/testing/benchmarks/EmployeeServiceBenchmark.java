@@ -0,0 +1,47 @@
+package com.unsa.testing.benchmarks;
+
+import com.unsa.testing.application.services.EmployeeService;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeServiceBenchmark {
+    @Param({"10000", "100000"})
+    private int rows;
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private long nextEmail;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.start("service");
+        employeeService = context.getBean(EmployeeService.class);
+        BenchmarkApplication.seed(context, rows);
+        nextEmail = rows;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        return employeeService.saveEmployee(BenchmarkApplication.employee(nextEmail++));
+    }
+
+    @Benchmark
+    public List<EmployeeSummary> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+}
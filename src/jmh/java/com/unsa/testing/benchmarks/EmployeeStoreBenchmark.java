@@ -0,0 +1,93 @@
+package com.unsa.testing.benchmarks;
+
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.repositories.EmployeeRepository;
+import com.unsa.testing.domain.repositories.OffHeapEmployeeStore;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+// Lookup latency of the JPA and off-heap backends; the footprint of the seeded rows is printed once per trial
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EmployeeStoreBenchmark {
+    @Param({"jpa", "offheap"})
+    private String backend;
+    @Param({"100000", "1000000"})
+    private int rows;
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private LongFunction<Optional<Employee>> byId;
+    private Function<String, Optional<Employee>> byEmail;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("employee-store");
+        context = backend.equals(OffHeapConfig.PROFILE)
+                ? BenchmarkApplication.start("store", "spring.profiles.active=" + OffHeapConfig.PROFILE,
+                        "employee.offheap.directory=" + directory,
+                        // Indexes start small so their growth is part of the measured footprint
+                        "employee.offheap.expected-employees=16")
+                : BenchmarkApplication.start("store");
+        if (backend.equals(OffHeapConfig.PROFILE)) {
+            OffHeapEmployeeStore store = context.getBean(OffHeapEmployeeStore.class);
+            byId = store::findById;
+            byEmail = store::findByEmail;
+        } else {
+            EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+            byId = employeeRepository::findById;
+            byEmail = employeeRepository::findByEmail;
+        }
+        long heap = heapUsed();
+        long buffers = bufferPoolsUsed();
+        ids = BenchmarkApplication.seed(context, rows);
+        System.out.printf("%n%s footprint for %d employees: %d MB heap, %d MB direct and mapped buffers%n",
+                backend, rows, (heapUsed() - heap) >> 20, (bufferPoolsUsed() - buffers) >> 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<Employee> findById() {
+        return byId.apply(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Optional<Employee> findByEmail() {
+        return byEmail.apply(BenchmarkApplication.email(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    private static long heapUsed() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long bufferPoolsUsed() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
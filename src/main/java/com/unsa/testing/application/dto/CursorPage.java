@@ -0,0 +1,14 @@
+package com.unsa.testing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter @Builder
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String next;
+}
@@ -0,0 +1,13 @@
+package com.unsa.testing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum EmployeeExportFormat {
+    CSV("text/csv", "csv"),
+    COLUMNAR("application/x-employee-columnar", "empc");
+    private final String mediaType;
+    private final String extension;
+}
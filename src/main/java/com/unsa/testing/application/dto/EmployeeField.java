@@ -0,0 +1,16 @@
+package com.unsa.testing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum EmployeeField {
+    ID("id"),
+    NAME("name"),
+    LASTNAME("lastname"),
+    EMAIL("email"),
+    VERSION("version"),
+    UPDATED_AT("updatedAt");
+    private final String attribute;
+}
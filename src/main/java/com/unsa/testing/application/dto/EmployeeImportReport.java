@@ -0,0 +1,18 @@
+package com.unsa.testing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter @Builder
+@AllArgsConstructor
+public class EmployeeImportReport {
+    private int total;
+    private int created;
+    private int rejected;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<EmployeeImportResult> results;
+}
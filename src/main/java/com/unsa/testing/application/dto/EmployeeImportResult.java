@@ -0,0 +1,14 @@
+package com.unsa.testing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter @Builder
+@AllArgsConstructor
+public class EmployeeImportResult {
+    private int index;
+    private EmployeeImportStatus status;
+    private Long id;
+    private String email;
+}
@@ -0,0 +1,7 @@
+package com.unsa.testing.application.dto;
+
+public enum EmployeeImportStatus {
+    CREATED,
+    DUPLICATED,
+    INVALID
+}
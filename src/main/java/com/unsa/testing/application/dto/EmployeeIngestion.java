@@ -0,0 +1,14 @@
+package com.unsa.testing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter @Builder
+@AllArgsConstructor
+public class EmployeeIngestion {
+    private String ticket;
+    private EmployeeIngestionStatus status;
+    private Long id;
+    private String email;
+}
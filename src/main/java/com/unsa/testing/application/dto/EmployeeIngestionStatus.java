@@ -0,0 +1,9 @@
+package com.unsa.testing.application.dto;
+
+public enum EmployeeIngestionStatus {
+    QUEUED,
+    CREATED,
+    DUPLICATED,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,27 @@
+package com.unsa.testing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter @Builder
+@AllArgsConstructor
+public class EmployeeSearchCriteria {
+    private String name;
+    private String lastname;
+    private String email;
+    @Builder.Default
+    private EmployeeSearchMatch match = EmployeeSearchMatch.PREFIX;
+    @Builder.Default
+    private EmployeeSortField sort = EmployeeSortField.ID;
+    @Builder.Default
+    private Sort.Direction direction = Sort.Direction.ASC;
+    @Builder.Default
+    private Set<EmployeeField> fields = EnumSet.allOf(EmployeeField.class);
+    private String after;
+    private int size;
+}
@@ -0,0 +1,6 @@
+package com.unsa.testing.application.dto;
+
+public enum EmployeeSearchMatch {
+    PREFIX,
+    CONTAINS
+}
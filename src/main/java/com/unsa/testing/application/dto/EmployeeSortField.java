@@ -0,0 +1,14 @@
+package com.unsa.testing.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum EmployeeSortField {
+    ID("id"),
+    NAME("name"),
+    LASTNAME("lastname"),
+    EMAIL("email");
+    private final String attribute;
+}
@@ -0,0 +1,120 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeField;
+import com.unsa.testing.application.dto.EmployeeSearchCriteria;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces concurrent identical reads in front of the JPA service. Lookups by id, pages and full listings that
+ * arrive while the same one is loading share that load, so a burst after a cache miss or a deploy reaches the
+ * database once per key. It wraps the cache and transaction proxies, so waiting callers never borrow a connection.
+ * Writes go straight through and make later reads start a fresh load.
+ */
+@Service
+@Primary
+@Profile("!" + OffHeapConfig.PROFILE)
+public class CoalescingEmployeeService implements EmployeeService {
+    private final SingleFlight<Long, Optional<Employee>> byId;
+    private final SingleFlight<PageKey, CursorPage<EmployeeSummary>> pages;
+    private final SingleFlight<Boolean, List<EmployeeSummary>> all;
+    @Autowired
+    private EmployeeServiceImpl employeeService;
+
+    public CoalescingEmployeeService(MeterRegistry meterRegistry) {
+        this.byId = new SingleFlight<>("by_id", meterRegistry);
+        this.pages = new SingleFlight<>("page", meterRegistry);
+        this.all = new SingleFlight<>("all", meterRegistry);
+    }
+
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        Employee savedEmployee = employeeService.saveEmployee(employee);
+        forgetListings();
+        return savedEmployee;
+    }
+
+    @Override
+    public List<EmployeeSummary> getAllEmployees() {
+        // Every caller gets the same list, so none of them may change it
+        return all.load(Boolean.TRUE, () -> Collections.unmodifiableList(employeeService.getAllEmployees()));
+    }
+
+    @Override
+    public CursorPage<EmployeeSummary> getEmployeesPage(Long after, int size, Set<EmployeeField> fields) {
+        return pages.load(new PageKey(after, size, fields), () -> employeeService.getEmployeesPage(after, size, fields));
+    }
+
+    @Override
+    public CursorPage<EmployeeSummary> searchEmployees(EmployeeSearchCriteria criteria) {
+        return employeeService.searchEmployees(criteria);
+    }
+
+    @Override
+    public void streamEmployees(Consumer<EmployeeSummary> consumer) {
+        employeeService.streamEmployees(consumer);
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(Long id) {
+        return byId.load(id, () -> employeeService.getEmployeeById(id));
+    }
+
+    @Override
+    public Optional<Long> getEmployeeVersion(Long id) {
+        return employeeService.getEmployeeVersion(id);
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee) {
+        try {
+            return employeeService.updateEmployee(employee);
+        } finally {
+            forget(employee.getId());
+        }
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee, long expectedVersion) {
+        try {
+            return employeeService.updateEmployee(employee, expectedVersion);
+        } finally {
+            forget(employee.getId());
+        }
+    }
+
+    @Override
+    public boolean deleteEmployee(Long id) {
+        try {
+            return employeeService.deleteEmployee(id);
+        } finally {
+            forget(id);
+        }
+    }
+
+    private void forget(Long id) {
+        byId.forget(id);
+        forgetListings();
+    }
+
+    private void forgetListings() {
+        pages.forgetAll();
+        all.forgetAll();
+    }
+
+    private record PageKey(Long after, int size, Set<EmployeeField> fields) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.domain.entities.Employee;
+
+import java.util.Iterator;
+
+public interface EmployeeBatchService {
+    default EmployeeImportReport importEmployees(Iterator<Employee> employees) {
+        return importEmployees(employees, false);
+    }
+
+    // With rejectedOnly the report lists only invalid and duplicated rows, so its size does not grow with the import
+    EmployeeImportReport importEmployees(Iterator<Employee> employees, boolean rejectedOnly);
+}
@@ -0,0 +1,98 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.dto.EmployeeImportStatus;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeChangeType;
+import com.unsa.testing.domain.repositories.EmployeeChangeRepository;
+import com.unsa.testing.domain.repositories.EmployeeRepository;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Profile("!" + OffHeapConfig.PROFILE)
+public class EmployeeBatchServiceImpl implements EmployeeBatchService {
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EmployeeEmailFilter employeeEmailFilter;
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Value("${employee.batch.size:500}")
+    private int batchSize;
+    @Override
+    public EmployeeImportReport importEmployees(Iterator<Employee> employees, boolean rejectedOnly) {
+        return EmployeeImports.importInChunks(employees, batchSize, rejectedOnly, this::saveChunk);
+    }
+
+    private List<EmployeeImportResult> saveChunk(List<Employee> chunk, int offset) {
+        return transactionTemplate.execute(status -> {
+            // Only emails the filter cannot rule out are looked up, and a chunk of new emails skips the query
+            Set<String> emails = chunk.stream()
+                    .filter(Objects::nonNull)
+                    .map(Employee::getEmail)
+                    .filter(Objects::nonNull)
+                    .filter(employeeEmailFilter::mightContain)
+                    .collect(Collectors.toSet());
+            Set<String> takenEmails = emails.isEmpty()
+                    ? new HashSet<>()
+                    : new HashSet<>(employeeRepository.findSavedEmails(emails));
+            employeeEmailFilter.falsePositives(emails.size() - takenEmails.size());
+            EmployeeImportStatus[] statuses = new EmployeeImportStatus[chunk.size()];
+            List<Employee> accepted = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Employee employee = chunk.get(i);
+                if (!isValid(employee)) {
+                    statuses[i] = EmployeeImportStatus.INVALID;
+                } else if (!takenEmails.add(employee.getEmail())) {
+                    statuses[i] = EmployeeImportStatus.DUPLICATED;
+                } else {
+                    employee.setId(null);
+                    employee.setVersion(null);
+                    employeeEmailFilter.put(employee.getEmail());
+                    accepted.add(employee);
+                    statuses[i] = EmployeeImportStatus.CREATED;
+                }
+            }
+            employeeRepository.saveAll(accepted);
+            employeeRepository.flush();
+            if (!accepted.isEmpty()) {
+                employeeChangeRepository.recordChanges(EmployeeChangeType.CREATED.name(),
+                        accepted.stream().map(Employee::getId).toList());
+            }
+            entityManager.clear();
+            List<EmployeeImportResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Employee employee = chunk.get(i);
+                results.add(EmployeeImportResult.builder()
+                        .index(offset + i)
+                        .status(statuses[i])
+                        .id(statuses[i] == EmployeeImportStatus.CREATED ? employee.getId() : null)
+                        .email(employee == null ? null : employee.getEmail())
+                        .build());
+            }
+            return results;
+        });
+    }
+
+    private boolean isValid(Employee employee) {
+        return employee != null
+                && employee.getName() != null && !employee.getName().isBlank()
+                && employee.getLastname() != null && !employee.getLastname().isBlank()
+                && employee.getEmail() != null && !employee.getEmail().isBlank();
+    }
+}
@@ -0,0 +1,6 @@
+package com.unsa.testing.application.services;
+
+public interface EmployeeChangeService {
+    void subscribe(Long after, EmployeeChangeSubscriber subscriber);
+    void unsubscribe(EmployeeChangeSubscriber subscriber);
+}
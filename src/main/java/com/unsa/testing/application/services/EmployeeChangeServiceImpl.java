@@ -0,0 +1,205 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.domain.entities.EmployeeChange;
+import com.unsa.testing.domain.repositories.EmployeeChangeRepository;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import com.unsa.testing.infrastructure.config.ReactiveConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes the outbox in id order from a single thread. Ids are drawn before commit, so a missing id usually
+ * belongs to a transaction still running; the dispatcher waits up to the gap timeout for it before moving past.
+ * Subscribers behind the published head read pages from the outbox until they catch up with the live changes.
+ */
+@Slf4j
+@Service
+@Profile("!" + ReactiveConfig.PROFILE + " & !" + OffHeapConfig.PROFILE)
+public class EmployeeChangeServiceImpl implements EmployeeChangeService, SmartLifecycle {
+    private static final Duration PRUNE_INTERVAL = Duration.ofMinutes(1);
+    private final Map<EmployeeChangeSubscriber, Cursor> subscribers = new ConcurrentHashMap<>();
+    private final Counter published;
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+    @Value("${employee.changes.batch-size:500}")
+    private int batchSize;
+    @Value("${employee.changes.poll-interval:200ms}")
+    private Duration pollInterval;
+    @Value("${employee.changes.gap-timeout:5s}")
+    private Duration gapTimeout;
+    @Value("${employee.changes.heartbeat:15s}")
+    private Duration heartbeat;
+    @Value("${employee.changes.retention:7d}")
+    private Duration retention;
+    private volatile boolean running;
+    private volatile long head;
+    private Thread dispatcher;
+    private long gapSince;
+    private long heartbeatAt;
+    private long prunedAt;
+
+    public EmployeeChangeServiceImpl(MeterRegistry meterRegistry) {
+        this.published = meterRegistry.counter(MetricsConfig.EMPLOYEE_CHANGES + ".published");
+        meterRegistry.gauge(MetricsConfig.EMPLOYEE_CHANGES + ".subscribers", subscribers, Map::size);
+    }
+
+    @Override
+    public void subscribe(Long after, EmployeeChangeSubscriber subscriber) {
+        // Without an offset the subscriber only receives changes published from now on
+        subscribers.put(subscriber, new Cursor(after == null ? head : after));
+    }
+
+    @Override
+    public void unsubscribe(EmployeeChangeSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void start() {
+        head = employeeChangeRepository.findFirstByOrderByIdDesc().map(EmployeeChange::getId).orElse(0L);
+        heartbeatAt = prunedAt = System.nanoTime();
+        running = true;
+        dispatcher = new Thread(this::dispatch, "employee-changes");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @Override
+    public void stop() {
+        // Subscribers are completed before the web server drains, so their clients reconnect elsewhere with their offset
+        running = false;
+        dispatcher.interrupt();
+        try {
+            dispatcher.join(pollInterval.multipliedBy(10).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        subscribers.keySet().forEach(EmployeeChangeSubscriber::onComplete);
+        subscribers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void dispatch() {
+        while (running) {
+            try {
+                publish();
+            } catch (RuntimeException e) {
+                log.warn("Publishing employee changes failed", e);
+            }
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void publish() {
+        long now = System.nanoTime();
+        long previousHead = head;
+        List<EmployeeChange> changes = readNewChanges(now);
+        boolean heartbeatDue = now - heartbeatAt >= heartbeat.toNanos();
+        subscribers.forEach((subscriber, cursor) -> {
+            try {
+                if (cursor.offset < previousHead) {
+                    catchUp(subscriber, cursor, previousHead);
+                }
+                if (cursor.offset >= previousHead) {
+                    for (EmployeeChange change : changes) {
+                        if (change.getId() > cursor.offset) {
+                            subscriber.onChange(change);
+                            cursor.offset = change.getId();
+                        }
+                    }
+                }
+                if (heartbeatDue) {
+                    subscriber.onHeartbeat();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Dropping employee change subscriber at offset {}", cursor.offset, e);
+                subscribers.remove(subscriber);
+            }
+        });
+        if (heartbeatDue) {
+            heartbeatAt = now;
+        }
+        if (now - prunedAt >= PRUNE_INTERVAL.toNanos()) {
+            int pruned = employeeChangeRepository.deleteRecordedBefore(Instant.now().minus(retention));
+            log.debug("Pruned {} employee changes older than {}", pruned, retention);
+            prunedAt = now;
+        }
+    }
+
+    private List<EmployeeChange> readNewChanges(long now) {
+        List<EmployeeChange> changes = employeeChangeRepository.findByIdGreaterThanOrderByIdAsc(head, Limit.of(batchSize));
+        long last = head;
+        int ready = 0;
+        for (EmployeeChange change : changes) {
+            if (change.getId() != last + 1) {
+                if (gapSince == 0) {
+                    gapSince = now;
+                }
+                if (now - gapSince < gapTimeout.toNanos()) {
+                    break;
+                }
+                // Waited long enough: the missing ids were rolled back and will never commit
+            }
+            gapSince = 0;
+            last = change.getId();
+            ready++;
+        }
+        head = last;
+        published.increment(ready);
+        return changes.subList(0, ready);
+    }
+
+    private void catchUp(EmployeeChangeSubscriber subscriber, Cursor cursor, long until) throws IOException {
+        if (!cursor.checked) {
+            cursor.checked = true;
+            Optional<EmployeeChange> oldest = employeeChangeRepository.findFirstByOrderByIdAsc();
+            if (oldest.isPresent() && oldest.get().getId() > cursor.offset + 1) {
+                cursor.offset = oldest.get().getId() - 1;
+                subscriber.onReset(cursor.offset);
+            }
+        }
+        // One page per round, so a subscriber far behind does not hold back the others
+        List<EmployeeChange> changes = employeeChangeRepository.findByIdBetweenOrderByIdAsc(cursor.offset + 1, until,
+                Limit.of(batchSize));
+        for (EmployeeChange change : changes) {
+            subscriber.onChange(change);
+            cursor.offset = change.getId();
+        }
+        if (changes.size() < batchSize) {
+            cursor.offset = until;
+        }
+    }
+
+    private static final class Cursor {
+        private long offset;
+        private boolean checked;
+
+        private Cursor(long offset) {
+            this.offset = offset;
+        }
+    }
+}
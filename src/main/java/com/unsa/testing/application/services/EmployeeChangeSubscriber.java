@@ -0,0 +1,13 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.domain.entities.EmployeeChange;
+
+import java.io.IOException;
+
+public interface EmployeeChangeSubscriber {
+    void onChange(EmployeeChange change) throws IOException;
+    // The changes up to this offset were pruned, so the subscriber has to download the employees again
+    void onReset(long offset) throws IOException;
+    void onHeartbeat() throws IOException;
+    void onComplete();
+}
@@ -0,0 +1,349 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.exceptions.InvalidEmployeeException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflated row groups stored column by column, in the spirit of Parquet. The file starts with "EMPC" and a version
+ * byte, then each group is three big-endian ints (rows, raw length, compressed length) and the compressed columns:
+ * ids as varint deltas, versions as varints, update times as zigzag microsecond deltas with 0 for null, then the
+ * names, lastnames and emails as length-prefixed UTF-8. Groups are self-contained, so a resumed export appends them.
+ */
+final class EmployeeColumnarCodec {
+    private static final byte[] MAGIC = {'E', 'M', 'P', 'C', 1};
+    private static final int GROUP_HEADER_SIZE = 3 * Integer.BYTES;
+    // Three varint longs and three strings of at most 255 UTF-16 units, each up to three UTF-8 bytes plus a length
+    private static final int MAX_ROW_BYTES = 3 * 10 + 3 * (2 + 255 * 3);
+
+    private EmployeeColumnarCodec() {
+    }
+
+    static final class Writer extends EmployeeExportWriter {
+        private final long[] ids;
+        private final long[] versions;
+        private final Instant[] updatedAts;
+        private final String[] names;
+        private final String[] lastnames;
+        private final String[] emails;
+        private final ColumnBuffer columns = new ColumnBuffer();
+        private byte[] compressed = new byte[0];
+        private boolean magic;
+        private int rows;
+
+        Writer(WritableByteChannel channel, long after, boolean magic, int rowGroupSize, Checkpoint checkpoint) {
+            super(channel, after, checkpoint);
+            this.magic = magic;
+            this.ids = new long[rowGroupSize];
+            this.versions = new long[rowGroupSize];
+            this.updatedAts = new Instant[rowGroupSize];
+            this.names = new String[rowGroupSize];
+            this.lastnames = new String[rowGroupSize];
+            this.emails = new String[rowGroupSize];
+        }
+
+        @Override
+        protected void buffer(long id, String name, String lastname, String email, long version, Instant updatedAt) throws IOException {
+            if (rows == ids.length) {
+                flush();
+            }
+            ids[rows] = id;
+            versions[rows] = version;
+            updatedAts[rows] = updatedAt;
+            names[rows] = name;
+            lastnames[rows] = lastname;
+            emails[rows] = email;
+            rows++;
+        }
+
+        @Override
+        protected boolean writeBuffered(WritableByteChannel channel) throws IOException {
+            if (magic) {
+                writeFully(channel, ByteBuffer.wrap(MAGIC));
+                magic = false;
+            }
+            if (rows == 0) {
+                return false;
+            }
+            encode();
+            int length = compress();
+            ByteBuffer header = ByteBuffer.allocate(GROUP_HEADER_SIZE)
+                    .putInt(rows)
+                    .putInt(columns.size)
+                    .putInt(length)
+                    .flip();
+            writeFully(channel, header);
+            writeFully(channel, ByteBuffer.wrap(compressed, 0, length));
+            Arrays.fill(names, 0, rows, null);
+            Arrays.fill(lastnames, 0, rows, null);
+            Arrays.fill(emails, 0, rows, null);
+            Arrays.fill(updatedAts, 0, rows, null);
+            rows = 0;
+            return true;
+        }
+
+        private void encode() {
+            columns.size = 0;
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                columns.writeVarLong(ids[i] - previous);
+                previous = ids[i];
+            }
+            for (int i = 0; i < rows; i++) {
+                columns.writeVarLong(versions[i]);
+            }
+            previous = 0;
+            for (int i = 0; i < rows; i++) {
+                if (updatedAts[i] == null) {
+                    columns.writeVarLong(0);
+                } else {
+                    long micros = Math.addExact(Math.multiplyExact(updatedAts[i].getEpochSecond(), 1_000_000L),
+                            updatedAts[i].getNano() / 1_000);
+                    long delta = micros - previous;
+                    columns.writeVarLong(((delta << 1) ^ (delta >> 63)) + 1);
+                    previous = micros;
+                }
+            }
+            for (String[] column : new String[][]{names, lastnames, emails}) {
+                for (int i = 0; i < rows; i++) {
+                    columns.writeString(column[i]);
+                }
+            }
+        }
+
+        private int compress() {
+            Deflater deflater = new Deflater();
+            try {
+                deflater.setInput(columns.bytes, 0, columns.size);
+                deflater.finish();
+                if (compressed.length < columns.size + 64) {
+                    compressed = new byte[columns.size + 64];
+                }
+                int length = 0;
+                while (!deflater.finished()) {
+                    if (length == compressed.length) {
+                        compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                    }
+                    length += deflater.deflate(compressed, length, compressed.length - length);
+                }
+                return length;
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    static final class Reader implements Iterator<Employee> {
+        private final ReadableByteChannel channel;
+        private final int maxRows;
+        private final ByteBuffer header = ByteBuffer.allocate(GROUP_HEADER_SIZE);
+        private Employee[] group = new Employee[0];
+        private int position;
+
+        Reader(ReadableByteChannel channel, int maxRows) {
+            this.channel = channel;
+            this.maxRows = maxRows;
+            ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+            if (!readFully(magic) || !Arrays.equals(magic.array(), MAGIC)) {
+                throw new InvalidEmployeeException("The file is not an employee columnar export");
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (position == group.length) {
+                if (!readGroup()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Employee next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Employee employee = group[position];
+            group[position++] = null;
+            return employee;
+        }
+
+        private boolean readGroup() {
+            header.clear();
+            if (!readFully(header)) {
+                return false;
+            }
+            header.flip();
+            int rows = header.getInt();
+            int rawLength = header.getInt();
+            int compressedLength = header.getInt();
+            // The header is checked before anything is allocated from it, so a crafted file cannot ask for gigabytes;
+            // the compressed bound is zlib's worst case for incompressible input
+            if (rows < 0 || rows > maxRows) {
+                throw new InvalidEmployeeException("The columnar file has a row group of " + rows
+                        + " rows, more than the " + maxRows + " allowed");
+            }
+            if (rawLength < 0 || rawLength > (long) rows * MAX_ROW_BYTES || compressedLength < 0
+                    || compressedLength > rawLength + (rawLength >>> 12) + (rawLength >>> 14) + 64) {
+                throw new InvalidEmployeeException("The columnar file has a corrupt row group header");
+            }
+            ByteBuffer compressed = ByteBuffer.allocate(compressedLength);
+            if (!readFully(compressed)) {
+                throw new InvalidEmployeeException("The columnar file ends inside a row group");
+            }
+            try {
+                group = readColumns(ByteBuffer.wrap(inflate(compressed.array(), rawLength)), rows);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                throw new InvalidEmployeeException("The columnar file has a truncated row group");
+            }
+            position = 0;
+            return true;
+        }
+
+        private static Employee[] readColumns(ByteBuffer columns, int rows) {
+            Employee[] employees = new Employee[rows];
+            long previous = 0;
+            for (int i = 0; i < rows; i++) {
+                previous += readVarLong(columns);
+                employees[i] = Employee.builder().id(previous).build();
+            }
+            for (int i = 0; i < rows; i++) {
+                employees[i].setVersion(readVarLong(columns));
+            }
+            previous = 0;
+            for (int i = 0; i < rows; i++) {
+                long encoded = readVarLong(columns);
+                if (encoded != 0) {
+                    long zigzag = encoded - 1;
+                    previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                    employees[i].setUpdatedAt(Instant.ofEpochSecond(Math.floorDiv(previous, 1_000_000L),
+                            Math.floorMod(previous, 1_000_000L) * 1_000));
+                }
+            }
+            for (int i = 0; i < rows; i++) {
+                employees[i].setName(readString(columns));
+            }
+            for (int i = 0; i < rows; i++) {
+                employees[i].setLastname(readString(columns));
+            }
+            for (int i = 0; i < rows; i++) {
+                employees[i].setEmail(readString(columns));
+            }
+            return employees;
+        }
+
+        // Returns false at the end of the channel, and fails if it ends after the buffer was partly filled
+        private boolean readFully(ByteBuffer buffer) {
+            try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        if (buffer.position() == 0) {
+                            return false;
+                        }
+                        throw new InvalidEmployeeException("The columnar file is truncated");
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static byte[] inflate(byte[] compressed, int rawLength) {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                byte[] raw = new byte[rawLength];
+                int length = 0;
+                while (length < rawLength && !inflater.finished() && !inflater.needsInput()) {
+                    length += inflater.inflate(raw, length, rawLength - length);
+                }
+                if (length != rawLength) {
+                    throw new InvalidEmployeeException("The columnar file has a corrupt row group");
+                }
+                return raw;
+            } catch (DataFormatException e) {
+                throw new InvalidEmployeeException("The columnar file has a corrupt row group");
+            } finally {
+                inflater.end();
+            }
+        }
+
+        private static long readVarLong(ByteBuffer buffer) {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new InvalidEmployeeException("The columnar file has a corrupt varint");
+        }
+
+        private static String readString(ByteBuffer buffer) {
+            long length = readVarLong(buffer) - 1;
+            if (length < 0) {
+                return null;
+            }
+            if (length > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            String value = new String(buffer.array(), buffer.position(), (int) length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + (int) length);
+            return value;
+        }
+    }
+
+    private static final class ColumnBuffer {
+        private byte[] bytes = new byte[64 * 1024];
+        private int size;
+
+        private void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            put((byte) value);
+        }
+
+        // Lengths are shifted by one so that 0 can stand for null
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(encoded.length + 1L);
+            ensure(encoded.length);
+            System.arraycopy(encoded, 0, bytes, size, encoded.length);
+            size += encoded.length;
+        }
+
+        private void put(byte value) {
+            ensure(1);
+            bytes[size++] = value;
+        }
+
+        private void ensure(int length) {
+            if (size + length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+            }
+        }
+    }
+}
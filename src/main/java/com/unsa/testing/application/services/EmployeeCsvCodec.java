@@ -0,0 +1,181 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.exceptions.InvalidEmployeeException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * RFC 4180 rows with a header line. Imports only read the name, lastname and email columns, in any order, since ids,
+ * versions and timestamps are assigned again when the rows are inserted.
+ */
+final class EmployeeCsvCodec {
+    static final String HEADER = "id,name,lastname,email,version,updated_at\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private EmployeeCsvCodec() {
+    }
+
+    static final class Writer extends EmployeeExportWriter {
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final StringBuilder line = new StringBuilder(128);
+
+        Writer(WritableByteChannel channel, long after, boolean header, Checkpoint checkpoint) {
+            super(channel, after, checkpoint);
+            if (header) {
+                buffer.put(HEADER.getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+
+        @Override
+        protected void buffer(long id, String name, String lastname, String email, long version, Instant updatedAt) throws IOException {
+            line.setLength(0);
+            line.append(id).append(',');
+            appendField(name).append(',');
+            appendField(lastname).append(',');
+            appendField(email).append(',');
+            line.append(version).append(',');
+            if (updatedAt != null) {
+                line.append(updatedAt);
+            }
+            line.append('\n');
+            byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+            // Columns are at most 255 characters, so a row always fits in an empty buffer
+            if (bytes.length > buffer.remaining()) {
+                flush();
+            }
+            buffer.put(bytes);
+        }
+
+        @Override
+        protected boolean writeBuffered(WritableByteChannel channel) throws IOException {
+            if (buffer.position() == 0) {
+                return false;
+            }
+            buffer.flip();
+            writeFully(channel, buffer);
+            buffer.clear();
+            return true;
+        }
+
+        private StringBuilder appendField(String value) {
+            if (value == null) {
+                return line;
+            }
+            boolean quoted = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quoted) {
+                return line.append(value);
+            }
+            return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    static final class Reader implements Iterator<Employee> {
+        private final BufferedReader reader;
+        private final int name;
+        private final int lastname;
+        private final int email;
+        private List<String> next;
+
+        Reader(ReadableByteChannel channel) {
+            this.reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+            List<String> header = read();
+            if (header == null) {
+                throw new InvalidEmployeeException("The CSV file has no header line");
+            }
+            List<String> columns = header.stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            this.name = column(columns, "name");
+            this.lastname = column(columns, "lastname");
+            this.email = column(columns, "email");
+            this.next = read();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Employee next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            List<String> fields = next;
+            next = read();
+            return Employee.builder()
+                    .name(field(fields, name))
+                    .lastname(field(fields, lastname))
+                    .email(field(fields, email))
+                    .build();
+        }
+
+        private List<String> read() {
+            try {
+                int c = reader.read();
+                if (c == -1) {
+                    return null;
+                }
+                List<String> fields = new ArrayList<>();
+                StringBuilder field = new StringBuilder();
+                boolean quoted = false;
+                while (true) {
+                    if (quoted) {
+                        if (c == -1) {
+                            throw new InvalidEmployeeException("The CSV file ends inside a quoted field");
+                        }
+                        if (c == '"') {
+                            c = reader.read();
+                            if (c != '"') {
+                                quoted = false;
+                                continue;
+                            }
+                        }
+                        field.append((char) c);
+                    } else if (c == '"') {
+                        quoted = true;
+                    } else if (c == ',') {
+                        fields.add(field.toString());
+                        field.setLength(0);
+                    } else if (c == '\n' || c == -1) {
+                        break;
+                    } else if (c != '\r') {
+                        field.append((char) c);
+                    }
+                    c = reader.read();
+                }
+                fields.add(field.toString());
+                return fields;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static int column(List<String> columns, String column) {
+            int index = columns.indexOf(column);
+            if (index < 0) {
+                throw new InvalidEmployeeException("The CSV header has no " + column + " column");
+            }
+            return index;
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index < fields.size() ? fields.get(index) : null;
+        }
+    }
+}
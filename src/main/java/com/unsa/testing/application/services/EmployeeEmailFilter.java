@@ -0,0 +1,138 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.domain.repositories.EmployeeRepository;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of the normalized emails saved so far. A negative answer means the email is definitely not saved
+ * and the duplicate lookup can be skipped; a positive one only means it may be. Bits are never cleared, so deleted
+ * and replaced emails stay positive until the application restarts, and the unique constraint stays authoritative.
+ */
+@Slf4j
+@Component
+@Profile("!" + OffHeapConfig.PROFILE)
+public class EmployeeEmailFilter {
+    private final AtomicLongArray bits;
+    private final long size;
+    private final int hashes;
+    private final LongAdder bitsSet = new LongAdder();
+    private final Counter absent;
+    private final Counter maybe;
+    private final Counter falsePositives;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    private volatile boolean ready;
+
+    public EmployeeEmailFilter(@Value("${employee.email-filter.expected-emails:1000000}") long expectedEmails,
+                               @Value("${employee.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               MeterRegistry meterRegistry) {
+        // Optimal sizing for n expected emails at rate p: m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 hashes
+        long optimalSize = (long) Math.ceil(-expectedEmails * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray((int) Math.max((optimalSize + 63) / 64, 1));
+        this.size = bits.length() * 64L;
+        this.hashes = (int) Math.max(Math.round((double) size / expectedEmails * Math.log(2)), 1);
+        this.absent = lookups(meterRegistry, "absent");
+        this.maybe = lookups(meterRegistry, "maybe");
+        this.falsePositives = lookups(meterRegistry, "false_positive");
+        meterRegistry.gauge(MetricsConfig.EMPLOYEE_EMAIL_FILTER + ".bytes", this, filter -> filter.size / 8.0);
+        meterRegistry.gauge(MetricsConfig.EMPLOYEE_EMAIL_FILTER + ".emails", this, EmployeeEmailFilter::approximateEmails);
+        meterRegistry.gauge(MetricsConfig.EMPLOYEE_EMAIL_FILTER + ".false.positive.rate", this, EmployeeEmailFilter::expectedFalsePositiveRate);
+    }
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        // Until every saved email is loaded the filter answers "maybe", so lookups keep reaching the database
+        long start = System.nanoTime();
+        try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+            emails.forEach(this::put);
+        }
+        ready = true;
+        log.info("Loaded {} emails into a {} KB filter in {} ms", Math.round(approximateEmails()), size / 8 / 1024,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void put(String email) {
+        if (email == null) {
+            return;
+        }
+        long hash = hash(email);
+        long step = mix(hash) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(hash + i * step, size);
+            long mask = 1L << bit;
+            if ((bits.getAndAccumulate((int) (bit >>> 6), mask, (word, set) -> word | set) & mask) == 0) {
+                bitsSet.increment();
+            }
+        }
+    }
+
+    public boolean mightContain(String email) {
+        if (!ready || email == null) {
+            return true;
+        }
+        long hash = hash(email);
+        long step = mix(hash) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(hash + i * step, size);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                absent.increment();
+                return false;
+            }
+        }
+        maybe.increment();
+        return true;
+    }
+
+    // Called when the database did not find emails the filter reported as maybe saved
+    public void falsePositives(int count) {
+        falsePositives.increment(count);
+    }
+
+    private double approximateEmails() {
+        double filled = bitsSet.doubleValue() / size;
+        return filled >= 1 ? Double.POSITIVE_INFINITY : -size / (double) hashes * Math.log(1 - filled);
+    }
+
+    private double expectedFalsePositiveRate() {
+        return Math.pow(bitsSet.doubleValue() / size, hashes);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(MetricsConfig.EMPLOYEE_EMAIL_FILTER)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static long hash(String email) {
+        // FNV-1a over the normalized email, spread by the murmur finalizer
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash = (hash ^ normalized.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
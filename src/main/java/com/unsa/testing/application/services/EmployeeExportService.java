@@ -0,0 +1,15 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.EmployeeExportFormat;
+import com.unsa.testing.application.dto.EmployeeImportReport;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+public interface EmployeeExportService {
+    long exportEmployees(EmployeeExportFormat format, Long after, WritableByteChannel channel) throws IOException;
+    long exportEmployees(EmployeeExportFormat format, Path file) throws IOException;
+    EmployeeImportReport importEmployees(EmployeeExportFormat format, ReadableByteChannel channel);
+}
@@ -0,0 +1,120 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.EmployeeExportFormat;
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.Iterator;
+
+@Slf4j
+@Service
+@Profile("!" + OffHeapConfig.PROFILE)
+public class EmployeeExportServiceImpl implements EmployeeExportService {
+    private static final String EXPORT_QUERY =
+            "select id, name, lastname, email, version, updated_at from employees where id > ? order by id";
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EmployeeBatchService employeeBatchService;
+    @Value("${employee.export.fetch-size:1000}")
+    private int fetchSize;
+    @Value("${employee.export.row-group-size:8192}")
+    private int rowGroupSize;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportEmployees(EmployeeExportFormat format, Long after, WritableByteChannel channel) throws IOException {
+        return export(format, after == null ? 0 : after, channel, true, lastId -> {
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportEmployees(EmployeeExportFormat format, Path file) throws IOException {
+        // The checkpoint holds the last exported id and the file length after it, so a rerun drops any partly
+        // written block and continues from there; once complete, reruns append only the rows added since
+        Path checkpoint = file.resolveSibling(file.getFileName() + ".checkpoint");
+        long after = 0;
+        long length = 0;
+        if (Files.exists(checkpoint)) {
+            String[] saved = Files.readString(checkpoint, StandardCharsets.US_ASCII).trim().split(" ");
+            after = Long.parseLong(saved[0]);
+            length = Long.parseLong(saved[1]);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.position(length);
+            long start = after;
+            long lastId = export(format, after, channel, length == 0, id -> saveCheckpoint(checkpoint, id, channel.position()));
+            saveCheckpoint(checkpoint, lastId, channel.position());
+            log.info("Exported employees after id {} through id {} to {}", start, lastId, file);
+            return lastId;
+        }
+    }
+
+    @Override
+    public EmployeeImportReport importEmployees(EmployeeExportFormat format, ReadableByteChannel channel) {
+        Iterator<Employee> employees = format == EmployeeExportFormat.CSV
+                ? new EmployeeCsvCodec.Reader(channel)
+                : new EmployeeColumnarCodec.Reader(channel, rowGroupSize);
+        // Files can hold millions of rows, so the report keeps the counts and only the rejected rows
+        return employeeBatchService.importEmployees(employees, true);
+    }
+
+    private long export(EmployeeExportFormat format, long after, WritableByteChannel channel, boolean header,
+                        EmployeeExportWriter.Checkpoint checkpoint) throws IOException {
+        EmployeeExportWriter writer = format == EmployeeExportFormat.CSV
+                ? new EmployeeCsvCodec.Writer(channel, after, header, checkpoint)
+                : new EmployeeColumnarCodec.Writer(channel, after, header, rowGroupSize, checkpoint);
+        // A forward-only cursor fetching fetchSize rows per round trip, copied to the writer without building entities
+        RowCallbackHandler rows = resultSet -> {
+            try {
+                Timestamp updatedAt = resultSet.getTimestamp(6);
+                writer.write(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                        resultSet.getString(4), resultSet.getLong(5), updatedAt == null ? null : updatedAt.toInstant());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORT_QUERY,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, after);
+                return statement;
+            }, rows);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return writer.finish();
+    }
+
+    private static void saveCheckpoint(Path checkpoint, long lastId, long length) throws IOException {
+        Path pending = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Files.writeString(pending, lastId + " " + length, StandardCharsets.US_ASCII);
+        Files.move(pending, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
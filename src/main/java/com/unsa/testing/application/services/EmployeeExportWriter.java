@@ -0,0 +1,54 @@
+package com.unsa.testing.application.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+
+/**
+ * Buffers exported rows and writes them to a channel in large blocks. After each block the checkpoint receives the
+ * id of the last row written, so an interrupted export can resume after it without repeating or losing rows.
+ */
+abstract class EmployeeExportWriter {
+    interface Checkpoint {
+        void reached(long lastId) throws IOException;
+    }
+
+    private final WritableByteChannel channel;
+    private final Checkpoint checkpoint;
+    private long lastId;
+
+    protected EmployeeExportWriter(WritableByteChannel channel, long after, Checkpoint checkpoint) {
+        this.channel = channel;
+        this.lastId = after;
+        this.checkpoint = checkpoint;
+    }
+
+    final void write(long id, String name, String lastname, String email, long version, Instant updatedAt) throws IOException {
+        // Subclasses flush before buffering a row that does not fit, so lastId still names the last flushed row
+        buffer(id, name, lastname, email, version, updatedAt);
+        lastId = id;
+    }
+
+    final long finish() throws IOException {
+        flush();
+        return lastId;
+    }
+
+    protected final void flush() throws IOException {
+        if (writeBuffered(channel)) {
+            checkpoint.reached(lastId);
+        }
+    }
+
+    protected abstract void buffer(long id, String name, String lastname, String email, long version, Instant updatedAt) throws IOException;
+
+    // Writes the buffered rows and returns whether there were any
+    protected abstract boolean writeBuffered(WritableByteChannel channel) throws IOException;
+
+    protected static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
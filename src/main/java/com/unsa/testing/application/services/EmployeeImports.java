@@ -0,0 +1,57 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.dto.EmployeeImportStatus;
+import com.unsa.testing.domain.entities.Employee;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Feeds an import to a backend in chunks and totals the results into a report, so every batch service only
+ * decides how one chunk is saved.
+ */
+final class EmployeeImports {
+    private EmployeeImports() {
+    }
+
+    @FunctionalInterface
+    interface ChunkSaver {
+        // One result per row of chunk, in order, indexed from offset
+        List<EmployeeImportResult> save(List<Employee> chunk, int offset);
+    }
+
+    static EmployeeImportReport importInChunks(Iterator<Employee> employees, int batchSize, boolean rejectedOnly,
+                                               ChunkSaver saver) {
+        long start = System.nanoTime();
+        List<EmployeeImportResult> results = new ArrayList<>();
+        List<Employee> chunk = new ArrayList<>(batchSize);
+        int total = 0;
+        int created = 0;
+        while (employees.hasNext()) {
+            chunk.add(employees.next());
+            if (chunk.size() == batchSize || !employees.hasNext()) {
+                for (EmployeeImportResult result : saver.save(chunk, total)) {
+                    boolean isCreated = result.getStatus() == EmployeeImportStatus.CREATED;
+                    created += isCreated ? 1 : 0;
+                    if (!isCreated || !rejectedOnly) {
+                        results.add(result);
+                    }
+                }
+                total += chunk.size();
+                chunk.clear();
+            }
+        }
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1L);
+        return EmployeeImportReport.builder()
+                .total(total)
+                .created(created)
+                .rejected(total - created)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(total * 1_000_000_000.0 / elapsedNanos)
+                .results(results)
+                .build();
+    }
+}
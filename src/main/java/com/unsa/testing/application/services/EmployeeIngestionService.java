@@ -0,0 +1,11 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.EmployeeIngestion;
+import com.unsa.testing.domain.entities.Employee;
+
+import java.util.Optional;
+
+public interface EmployeeIngestionService {
+    EmployeeIngestion submit(Employee employee);
+    Optional<EmployeeIngestion> getIngestion(String ticket);
+}
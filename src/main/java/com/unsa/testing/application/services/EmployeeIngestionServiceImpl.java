@@ -0,0 +1,207 @@
+package com.unsa.testing.application.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.dto.EmployeeIngestion;
+import com.unsa.testing.application.dto.EmployeeIngestionStatus;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.exceptions.EmployeeIsSavedException;
+import com.unsa.testing.domain.exceptions.IngestionQueueFullException;
+import com.unsa.testing.domain.exceptions.InvalidEmployeeException;
+import com.unsa.testing.domain.repositories.EmployeeRepository;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@Profile("!" + OffHeapConfig.PROFILE)
+public class EmployeeIngestionServiceImpl implements EmployeeIngestionService, SmartLifecycle {
+    private final BlockingQueue<PendingEmployee> queue;
+    private final Set<String> pendingEmails = ConcurrentHashMap.newKeySet();
+    private final Cache<String, EmployeeIngestion> ingestions;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeBatchService employeeBatchService;
+    @Autowired
+    private EmployeeEmailFilter employeeEmailFilter;
+    @Value("${employee.batch.size:500}")
+    private int batchSize;
+    @Value("${employee.ingestion.linger:20ms}")
+    private Duration linger;
+    @Value("${employee.ingestion.shutdown-timeout:30s}")
+    private Duration shutdownTimeout;
+    private volatile boolean running;
+    private Thread writer;
+
+    public EmployeeIngestionServiceImpl(@Value("${employee.ingestion.capacity:10000}") int capacity,
+                                        @Value("${employee.ingestion.retention:10m}") Duration retention,
+                                        MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.ingestions = Caffeine.newBuilder()
+                .expireAfterWrite(retention)
+                .build();
+        meterRegistry.gauge(MetricsConfig.EMPLOYEE_INGESTION_QUEUE, queue, BlockingQueue::size);
+    }
+
+    @Override
+    public EmployeeIngestion submit(Employee employee) {
+        if (!isValid(employee)) {
+            throw new InvalidEmployeeException("The employee needs a name, a lastname and an email");
+        }
+        if (!running) {
+            throw new IngestionQueueFullException("The ingestion queue is draining and not accepting employees");
+        }
+        // Emails still waiting in the queue are not in the database yet, so they are tracked here as well
+        if (!pendingEmails.add(employee.getEmail())) {
+            throw new EmployeeIsSavedException("The employee is already saved: " + employee.getEmail());
+        }
+        if (employeeEmailFilter.mightContain(employee.getEmail())) {
+            if (!employeeRepository.findSavedEmails(Set.of(employee.getEmail())).isEmpty()) {
+                pendingEmails.remove(employee.getEmail());
+                throw new EmployeeIsSavedException("The employee is already saved: " + employee.getEmail());
+            }
+            employeeEmailFilter.falsePositives(1);
+        }
+        EmployeeIngestion ingestion = EmployeeIngestion.builder()
+                .ticket(UUID.randomUUID().toString())
+                .status(EmployeeIngestionStatus.QUEUED)
+                .email(employee.getEmail())
+                .build();
+        ingestions.put(ingestion.getTicket(), ingestion);
+        if (!queue.offer(new PendingEmployee(ingestion.getTicket(), employee))) {
+            ingestions.invalidate(ingestion.getTicket());
+            pendingEmails.remove(employee.getEmail());
+            throw new IngestionQueueFullException("The ingestion queue is full");
+        }
+        return ingestion;
+    }
+
+    @Override
+    public Optional<EmployeeIngestion> getIngestion(String ticket) {
+        return Optional.ofNullable(ingestions.getIfPresent(ticket));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drain, "employee-ingestion");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        // Refuse new work, then let the writer flush whatever is already queued
+        running = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Employee ingestion stopped with {} employees still queued", queue.size());
+            writer.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stop after the web server so in-flight requests can still enqueue before the final drain
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<PendingEmployee> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingEmployee first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void collect(List<PendingEmployee> batch) throws InterruptedException {
+        // Wait up to the linger time for a burst to fill the batch before committing it
+        long deadline = System.nanoTime() + linger.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            PendingEmployee next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<PendingEmployee> batch) {
+        try {
+            EmployeeImportReport report = employeeBatchService.importEmployees(batch.stream()
+                    .map(PendingEmployee::employee)
+                    .iterator());
+            for (EmployeeImportResult result : report.getResults()) {
+                complete(batch.get(result.getIndex()), EmployeeIngestionStatus.valueOf(result.getStatus().name()), result.getId());
+            }
+        } catch (RuntimeException e) {
+            log.error("Employee ingestion batch of {} failed", batch.size(), e);
+            batch.forEach(pending -> complete(pending, EmployeeIngestionStatus.FAILED, null));
+        }
+    }
+
+    private void complete(PendingEmployee pending, EmployeeIngestionStatus status, Long id) {
+        ingestions.put(pending.ticket(), EmployeeIngestion.builder()
+                .ticket(pending.ticket())
+                .status(status)
+                .id(id)
+                .email(pending.employee().getEmail())
+                .build());
+        pendingEmails.remove(pending.employee().getEmail());
+    }
+
+    private boolean isValid(Employee employee) {
+        return employee != null
+                && employee.getName() != null && !employee.getName().isBlank()
+                && employee.getLastname() != null && !employee.getLastname().isBlank()
+                && employee.getEmail() != null && !employee.getEmail().isBlank();
+    }
+
+    private record PendingEmployee(String ticket, Employee employee) {
+    }
+}
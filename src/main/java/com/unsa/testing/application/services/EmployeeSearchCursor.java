@@ -0,0 +1,49 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.EmployeeSortField;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.domain.exceptions.InvalidSearchException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// The sorted value and the id of the last row of a search page, opaque to clients; value is null when sorting by id
+record EmployeeSearchCursor(String value, long id) {
+    static String encode(EmployeeSortField sort, EmployeeSummary last) {
+        String cursor = sort == EmployeeSortField.ID
+                ? String.valueOf(last.getId())
+                : value(sort, last) + "\n" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static EmployeeSearchCursor decode(EmployeeSortField sort, String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchException("The search cursor is not valid: " + cursor);
+        }
+        int separator = decoded.lastIndexOf('\n');
+        if (sort != EmployeeSortField.ID && separator < 0) {
+            throw new InvalidSearchException("The search cursor is not valid: " + cursor);
+        }
+        try {
+            long id = Long.parseLong(decoded.substring(separator + 1));
+            return new EmployeeSearchCursor(sort == EmployeeSortField.ID ? null : decoded.substring(0, separator), id);
+        } catch (NumberFormatException e) {
+            throw new InvalidSearchException("The search cursor is not valid: " + cursor);
+        }
+    }
+
+    static String value(EmployeeSortField sort, EmployeeSummary employee) {
+        return switch (sort) {
+            case ID -> String.valueOf(employee.getId());
+            case NAME -> employee.getName();
+            case LASTNAME -> employee.getLastname();
+            case EMAIL -> employee.getEmail();
+        };
+    }
+}
@@ -1,14 +1,25 @@
 package com.unsa.testing.application.services;
 
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeField;
+import com.unsa.testing.application.dto.EmployeeSearchCriteria;
 import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
-    List<Employee> getAllEmployees();
+    List<EmployeeSummary> getAllEmployees();
+    CursorPage<EmployeeSummary> getEmployeesPage(Long after, int size, Set<EmployeeField> fields);
+    CursorPage<EmployeeSummary> searchEmployees(EmployeeSearchCriteria criteria);
+    void streamEmployees(Consumer<EmployeeSummary> consumer);
     Optional<Employee> getEmployeeById(Long id);
+    Optional<Long> getEmployeeVersion(Long id);
     Employee updateEmployee(Employee employee);
-    void deleteEmployee(Long id);
+    Employee updateEmployee(Employee employee, long expectedVersion);
+    boolean deleteEmployee(Long id);
 }
@@ -1,44 +1,245 @@
 package com.unsa.testing.application.services;
 
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeField;
+import com.unsa.testing.application.dto.EmployeeSearchCriteria;
+import com.unsa.testing.application.dto.EmployeeSearchMatch;
+import com.unsa.testing.application.dto.EmployeeSortField;
 import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeChangeType;
+import com.unsa.testing.domain.entities.EmployeeSummary;
 import com.unsa.testing.domain.exceptions.EmployeeIsSavedException;
+import com.unsa.testing.domain.exceptions.EmployeeVersionMismatchException;
+import com.unsa.testing.domain.exceptions.ResourceNotFoundException;
+import com.unsa.testing.domain.repositories.EmployeeChangeRepository;
 import com.unsa.testing.domain.repositories.EmployeeRepository;
+import com.unsa.testing.domain.repositories.EmployeeSpecifications;
+import com.unsa.testing.infrastructure.EmployeeTrigramIndex;
+import com.unsa.testing.infrastructure.config.CacheConfig;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!" + OffHeapConfig.PROFILE)
+@Timed(MetricsConfig.EMPLOYEE_SERVICE)
 public class EmployeeServiceImpl implements EmployeeService {
+    public static final int MAX_PAGE_SIZE = 500;
     @Autowired
     private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeEmailFilter employeeEmailFilter;
+    @Autowired
+    private EmployeeChangeRepository employeeChangeRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private EmployeeTrigramIndex employeeTrigramIndex;
     @Override
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES, key = "#result.id")
+    @Transactional
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (savedEmployee.isPresent()) {
-            throw new EmployeeIsSavedException("The employee is already saved: " + employee.getEmail());
+        // New emails go straight to the insert, where the unique constraint still detects duplicates;
+        // replayed ones are rejected by an index lookup instead of a failed insert and a rolled back transaction
+        if (employeeEmailFilter.mightContain(employee.getEmail())) {
+            if (employeeRepository.existsByEmail(employee.getEmail())) {
+                throw new EmployeeIsSavedException("The employee is already saved: " + employee.getEmail());
+            }
+            employeeEmailFilter.falsePositives(1);
+        }
+        employeeEmailFilter.put(employee.getEmail());
+        Employee savedEmployee;
+        try {
+            savedEmployee = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailConflict(e, employee);
         }
-        return employeeRepository.save(employee);
+        employeeChangeRepository.recordChanges(EmployeeChangeType.CREATED.name(), List.of(savedEmployee.getId()));
+        return savedEmployee;
     }
 
     @Override
-    public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<EmployeeSummary> getAllEmployees() {
+        return employeeRepository.findAllSummaries();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeSummary> getEmployeesPage(Long after, int size, Set<EmployeeField> fields) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<EmployeeSummary> employees = employeeRepository.findSummaries(
+                EmployeeSpecifications.idAfter(after == null ? 0L : after, Sort.Direction.ASC),
+                Sort.by("id"), limit, attributes(fields, EmployeeSortField.ID));
+        String next = employees.size() < limit ? null : String.valueOf(employees.get(employees.size() - 1).getId());
+        return CursorPage.<EmployeeSummary>builder()
+                .content(employees)
+                .next(next)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeSummary> searchEmployees(EmployeeSearchCriteria criteria) {
+        int limit = Math.min(Math.max(criteria.getSize(), 1), MAX_PAGE_SIZE);
+        String attribute = criteria.getSort().getAttribute();
+        Sort.Direction direction = criteria.getDirection();
+        Specification<Employee> specification = Specification
+                .where(matches("name", criteria.getName(), criteria.getMatch()))
+                .and(matches("lastname", criteria.getLastname(), criteria.getMatch()))
+                .and(matches("email", criteria.getEmail(), criteria.getMatch()))
+                .and(afterCursor(criteria.getSort(), direction, criteria.getAfter()));
+        Sort sort = criteria.getSort() == EmployeeSortField.ID
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, attribute, "id");
+        List<EmployeeSummary> employees = employeeRepository.findSummaries(specification, sort, limit,
+                attributes(criteria.getFields(), criteria.getSort()));
+        String next = employees.size() < limit ? null : EmployeeSearchCursor.encode(criteria.getSort(), employees.get(employees.size() - 1));
+        return CursorPage.<EmployeeSummary>builder()
+                .content(employees)
+                .next(next)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamEmployees(Consumer<EmployeeSummary> consumer) {
+        // Summaries are not managed, so the persistence context stays empty however many rows are streamed
+        try (Stream<EmployeeSummary> employees = employeeRepository.streamAllSummaries()) {
+            employees.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, unless = "#result == null")
+    @Transactional(readOnly = true)
     public Optional<Employee> getEmployeeById(Long id) {
         return employeeRepository.findById(id);
     }
 
     @Override
+    public Optional<Long> getEmployeeVersion(Long id) {
+        // Revalidating a cached employee needs neither a query nor a connection; only misses read the version column
+        Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        Employee cached = employees == null ? null : employees.get(id, Employee.class);
+        if (cached != null && cached.getVersion() != null) {
+            return Optional.of(cached.getVersion());
+        }
+        return employeeRepository.findVersionById(id);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#employee.id")
+    @Transactional
     public Employee updateEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        // The bumped version is read back for the ETag while the update still holds the row lock, so it is ours
+        Instant updatedAt = Instant.now();
+        employeeEmailFilter.put(employee.getEmail());
+        int updated;
+        try {
+            updated = employeeRepository.updateById(employee.getId(),
+                    employee.getName(), employee.getLastname(), employee.getEmail(), updatedAt);
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailConflict(e, employee);
+        }
+        if (updated == 0) {
+            throw new ResourceNotFoundException("The employee does not exist: " + employee.getId());
+        }
+        employeeChangeRepository.recordChanges(EmployeeChangeType.UPDATED.name(), List.of(employee.getId()));
+        employee.setVersion(employeeRepository.findVersionById(employee.getId()).orElseThrow());
+        employee.setUpdatedAt(updatedAt);
+        return employee;
     }
 
     @Override
-    public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+    @CachePut(cacheNames = CacheConfig.EMPLOYEES, key = "#result.id")
+    @Transactional
+    public Employee updateEmployee(Employee employee, long expectedVersion) {
+        Instant updatedAt = Instant.now();
+        employeeEmailFilter.put(employee.getEmail());
+        int updated;
+        try {
+            updated = employeeRepository.updateIfVersionMatches(employee.getId(), expectedVersion,
+                    employee.getName(), employee.getLastname(), employee.getEmail(), updatedAt);
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailConflict(e, employee);
+        }
+        if (updated == 0) {
+            if (employeeRepository.existsById(employee.getId())) {
+                throw new EmployeeVersionMismatchException("The employee was modified since version " + expectedVersion + ": " + employee.getId());
+            }
+            throw new ResourceNotFoundException("The employee does not exist: " + employee.getId());
+        }
+        employeeChangeRepository.recordChanges(EmployeeChangeType.UPDATED.name(), List.of(employee.getId()));
+        employee.setVersion(expectedVersion + 1);
+        employee.setUpdatedAt(updatedAt);
+        return employee;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.EMPLOYEES)
+    @Transactional
+    public boolean deleteEmployee(Long id) {
+        // Recorded first, while the row still holds the state consumers last saw
+        employeeChangeRepository.recordChanges(EmployeeChangeType.DELETED.name(), List.of(id));
+        return employeeRepository.deleteEmployeeById(id) > 0;
+    }
+
+    private Specification<Employee> matches(String attribute, String value, EmployeeSearchMatch match) {
+        return match == EmployeeSearchMatch.CONTAINS
+                ? EmployeeSpecifications.contains(attribute, value, employeeTrigramIndex.isInstalled())
+                : EmployeeSpecifications.startsWith(attribute, value);
+    }
+
+    private static Specification<Employee> afterCursor(EmployeeSortField sort, Sort.Direction direction, String cursor) {
+        EmployeeSearchCursor after = EmployeeSearchCursor.decode(sort, cursor);
+        if (after == null) {
+            return null;
+        }
+        return sort == EmployeeSortField.ID
+                ? EmployeeSpecifications.idAfter(after.id(), direction)
+                : EmployeeSpecifications.after(sort.getAttribute(), after.value(), after.id(), direction);
+    }
+
+    private static List<String> attributes(Set<EmployeeField> fields, EmployeeSortField sort) {
+        // The id and version back cursors and ETags, and the sorted column backs search cursors, so they are always read
+        List<String> attributes = new ArrayList<>();
+        for (EmployeeField field : EmployeeField.values()) {
+            if (fields.contains(field) || field == EmployeeField.ID || field == EmployeeField.VERSION
+                    || field.getAttribute().equals(sort.getAttribute())) {
+                attributes.add(field.getAttribute());
+            }
+        }
+        return attributes;
+    }
+
+    private RuntimeException translateEmailConflict(DataIntegrityViolationException e, Employee employee) {
+        if (e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains(Employee.EMAIL_CONSTRAINT)) {
+            return new EmployeeIsSavedException("The employee is already saved: " + employee.getEmail());
+        }
+        return e;
     }
 }
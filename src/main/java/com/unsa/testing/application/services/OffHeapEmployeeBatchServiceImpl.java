@@ -0,0 +1,53 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.dto.EmployeeImportStatus;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.repositories.OffHeapEmployeeStore;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Profile(OffHeapConfig.PROFILE)
+public class OffHeapEmployeeBatchServiceImpl implements EmployeeBatchService {
+    @Autowired
+    private OffHeapEmployeeStore offHeapEmployeeStore;
+    @Value("${employee.batch.size:500}")
+    private int batchSize;
+    @Override
+    public EmployeeImportReport importEmployees(Iterator<Employee> employees, boolean rejectedOnly) {
+        return EmployeeImports.importInChunks(employees, batchSize, rejectedOnly, this::saveChunk);
+    }
+
+    private List<EmployeeImportResult> saveChunk(List<Employee> chunk, int offset) {
+        // Valid rows are inserted under one lock hold and one log write; the store reports the duplicated emails
+        List<Employee> valid = chunk.stream()
+                .filter(OffHeapEmployeeServiceImpl::isValid)
+                .toList();
+        Iterator<Optional<Employee>> saved = offHeapEmployeeStore.insertAll(valid, Instant.now()).iterator();
+        List<EmployeeImportResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Employee employee = chunk.get(i);
+            Optional<Employee> savedEmployee = OffHeapEmployeeServiceImpl.isValid(employee) ? saved.next() : null;
+            EmployeeImportStatus status = savedEmployee == null ? EmployeeImportStatus.INVALID
+                    : savedEmployee.isPresent() ? EmployeeImportStatus.CREATED : EmployeeImportStatus.DUPLICATED;
+            results.add(EmployeeImportResult.builder()
+                    .index(offset + i)
+                    .status(status)
+                    .id(savedEmployee == null ? null : savedEmployee.map(Employee::getId).orElse(null))
+                    .email(employee == null ? null : employee.getEmail())
+                    .build());
+        }
+        return results;
+    }
+}
@@ -0,0 +1,204 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeField;
+import com.unsa.testing.application.dto.EmployeeSearchCriteria;
+import com.unsa.testing.application.dto.EmployeeSearchMatch;
+import com.unsa.testing.application.dto.EmployeeSortField;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.domain.entities.EmployeeTrigram;
+import com.unsa.testing.domain.exceptions.InvalidEmployeeException;
+import com.unsa.testing.domain.exceptions.InvalidSearchException;
+import com.unsa.testing.domain.repositories.OffHeapEmployeeStore;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Employees served from the off-heap store instead of JPA. Lookups by id and email go through the store's indexes;
+ * searches scan every record and keep the best page in a bounded heap, with the same cursors, LIKE semantics and
+ * ordering as the database.
+ */
+@Service
+@Profile(OffHeapConfig.PROFILE)
+@Timed(MetricsConfig.EMPLOYEE_SERVICE)
+public class OffHeapEmployeeServiceImpl implements EmployeeService {
+    // Scans and streams read this many employees per lock hold, so writers are never held up for a whole listing
+    private static final int SCAN_PAGE_SIZE = 1024;
+    private static final int MAX_COLUMN_LENGTH = 255;
+    @Autowired
+    private OffHeapEmployeeStore offHeapEmployeeStore;
+    @Override
+    public Employee saveEmployee(Employee employee) {
+        validate(employee);
+        return offHeapEmployeeStore.insert(employee.getName(), employee.getLastname(), employee.getEmail(), Instant.now());
+    }
+
+    @Override
+    public List<EmployeeSummary> getAllEmployees() {
+        List<EmployeeSummary> employees = new ArrayList<>();
+        streamEmployees(employees::add);
+        return employees;
+    }
+
+    @Override
+    public CursorPage<EmployeeSummary> getEmployeesPage(Long after, int size, Set<EmployeeField> fields) {
+        int limit = Math.min(Math.max(size, 1), EmployeeServiceImpl.MAX_PAGE_SIZE);
+        List<EmployeeSummary> employees = offHeapEmployeeStore.findAfter(after == null ? 0L : after, limit).stream()
+                .map(employee -> project(employee, fields, EmployeeSortField.ID))
+                .toList();
+        String next = employees.size() < limit ? null : String.valueOf(employees.get(employees.size() - 1).getId());
+        return CursorPage.<EmployeeSummary>builder()
+                .content(employees)
+                .next(next)
+                .build();
+    }
+
+    @Override
+    public CursorPage<EmployeeSummary> searchEmployees(EmployeeSearchCriteria criteria) {
+        int limit = Math.min(Math.max(criteria.getSize(), 1), EmployeeServiceImpl.MAX_PAGE_SIZE);
+        EmployeeSortField sort = criteria.getSort();
+        Comparator<EmployeeSummary> order = Comparator.comparingLong(EmployeeSummary::getId);
+        if (sort != EmployeeSortField.ID) {
+            order = Comparator.comparing((EmployeeSummary employee) -> EmployeeSearchCursor.value(sort, employee),
+                    Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(order);
+        }
+        Comparator<EmployeeSummary> comparator = criteria.getDirection() == Sort.Direction.ASC ? order : order.reversed();
+        Predicate<EmployeeSummary> filter = matches(EmployeeSummary::getName, criteria.getName(), criteria.getMatch())
+                .and(matches(EmployeeSummary::getLastname, criteria.getLastname(), criteria.getMatch()))
+                .and(matches(EmployeeSummary::getEmail, criteria.getEmail(), criteria.getMatch()));
+        EmployeeSearchCursor cursor = EmployeeSearchCursor.decode(sort, criteria.getAfter());
+        if (cursor != null) {
+            EmployeeSummary last = EmployeeSummary.builder()
+                    .id(cursor.id())
+                    .name(cursor.value())
+                    .lastname(cursor.value())
+                    .email(cursor.value())
+                    .build();
+            filter = filter.and(employee -> comparator.compare(employee, last) > 0);
+        }
+        // The head is the worst of the best rows seen so far, replaced whenever a better one turns up
+        PriorityQueue<EmployeeSummary> best = new PriorityQueue<>(limit + 1, comparator.reversed());
+        Predicate<EmployeeSummary> accepted = filter;
+        streamEmployees(employee -> {
+            if (accepted.test(employee)) {
+                best.add(employee);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        });
+        List<EmployeeSummary> employees = best.stream()
+                .sorted(comparator)
+                .map(employee -> project(employee, criteria.getFields(), sort))
+                .toList();
+        String next = employees.size() < limit ? null : EmployeeSearchCursor.encode(sort, employees.get(employees.size() - 1));
+        return CursorPage.<EmployeeSummary>builder()
+                .content(employees)
+                .next(next)
+                .build();
+    }
+
+    @Override
+    public void streamEmployees(Consumer<EmployeeSummary> consumer) {
+        long after = 0;
+        List<EmployeeSummary> page;
+        do {
+            page = offHeapEmployeeStore.findAfter(after, SCAN_PAGE_SIZE);
+            page.forEach(consumer);
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        } while (page.size() == SCAN_PAGE_SIZE);
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(Long id) {
+        return offHeapEmployeeStore.findById(id);
+    }
+
+    @Override
+    public Optional<Long> getEmployeeVersion(Long id) {
+        return offHeapEmployeeStore.findVersionById(id);
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee) {
+        validate(employee);
+        return offHeapEmployeeStore.update(employee.getId(), employee.getName(), employee.getLastname(),
+                employee.getEmail(), Instant.now(), null);
+    }
+
+    @Override
+    public Employee updateEmployee(Employee employee, long expectedVersion) {
+        validate(employee);
+        return offHeapEmployeeStore.update(employee.getId(), employee.getName(), employee.getLastname(),
+                employee.getEmail(), Instant.now(), expectedVersion);
+    }
+
+    @Override
+    public boolean deleteEmployee(Long id) {
+        return offHeapEmployeeStore.delete(id);
+    }
+
+    static boolean isValid(Employee employee) {
+        return employee != null
+                && isValid(employee.getName()) && isValid(employee.getLastname()) && isValid(employee.getEmail());
+    }
+
+    private static boolean isValid(String value) {
+        return value != null && !value.isBlank() && value.length() <= MAX_COLUMN_LENGTH;
+    }
+
+    // The database rejects these through its column constraints; the store has none, so they are checked up front
+    private static void validate(Employee employee) {
+        if (!isValid(employee)) {
+            throw new InvalidEmployeeException("The name, lastname and email are required and at most "
+                    + MAX_COLUMN_LENGTH + " characters");
+        }
+    }
+
+    private static Predicate<EmployeeSummary> matches(Function<EmployeeSummary, String> attribute,
+                                                  String value, EmployeeSearchMatch match) {
+        if (value == null || value.isEmpty()) {
+            return employee -> true;
+        }
+        // Case-sensitive like the LIKE patterns the JPA backend builds, with the same minimum contains term
+        if (match == EmployeeSearchMatch.CONTAINS && value.length() < EmployeeTrigram.LENGTH) {
+            throw new InvalidSearchException("Contains searches need at least " + EmployeeTrigram.LENGTH + " characters: " + value);
+        }
+        return match == EmployeeSearchMatch.CONTAINS
+                ? employee -> attribute.apply(employee) != null && attribute.apply(employee).contains(value)
+                : employee -> attribute.apply(employee) != null && attribute.apply(employee).startsWith(value);
+    }
+
+    private static EmployeeSummary project(EmployeeSummary employee, Set<EmployeeField> fields, EmployeeSortField sort) {
+        // Same columns the JPA projection selects: the requested fields plus the id, version and sorted column
+        return EmployeeSummary.builder()
+                .id(employee.getId())
+                .version(employee.getVersion())
+                .name(selected(fields, sort, EmployeeField.NAME) ? employee.getName() : null)
+                .lastname(selected(fields, sort, EmployeeField.LASTNAME) ? employee.getLastname() : null)
+                .email(selected(fields, sort, EmployeeField.EMAIL) ? employee.getEmail() : null)
+                .updatedAt(fields.contains(EmployeeField.UPDATED_AT) ? employee.getUpdatedAt() : null)
+                .build();
+    }
+
+    private static boolean selected(Set<EmployeeField> fields, EmployeeSortField sort, EmployeeField field) {
+        return fields.contains(field) || field.getAttribute().equals(sort.getAttribute());
+    }
+}
@@ -0,0 +1,17 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.domain.entities.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+    Mono<Employee> saveEmployee(Employee employee);
+    Mono<CursorPage<Employee>> getEmployeesPage(Long after, int size);
+    Flux<Employee> streamEmployees();
+    Mono<Employee> getEmployeeById(Long id);
+    Mono<Long> getEmployeeVersion(Long id);
+    Mono<Employee> updateEmployee(Employee employee);
+    Mono<Employee> updateEmployee(Employee employee, long expectedVersion);
+    Mono<Boolean> deleteEmployee(Long id);
+}
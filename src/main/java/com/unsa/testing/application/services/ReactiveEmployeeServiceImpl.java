@@ -0,0 +1,134 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeRow;
+import com.unsa.testing.domain.exceptions.EmployeeIsSavedException;
+import com.unsa.testing.domain.exceptions.EmployeeVersionMismatchException;
+import com.unsa.testing.domain.exceptions.ResourceNotFoundException;
+import com.unsa.testing.domain.repositories.ReactiveEmployeeRepository;
+import com.unsa.testing.infrastructure.config.ReactiveConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Service
+@Profile(ReactiveConfig.PROFILE)
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+    @Autowired
+    private ReactiveEmployeeRepository reactiveEmployeeRepository;
+    @Autowired
+    private EmployeeEmailFilter employeeEmailFilter;
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        // Batch imports and ingestion share the email filter, so reactive writes have to feed it as well
+        employeeEmailFilter.put(employee.getEmail());
+        // Each id is a whole value of the shared sequence, so it never falls inside a block Hibernate has pooled
+        return reactiveEmployeeRepository.nextId()
+                .flatMap(id -> reactiveEmployeeRepository.save(EmployeeRow.builder()
+                        .id(id)
+                        .name(employee.getName())
+                        .lastname(employee.getLastname())
+                        .email(employee.getEmail())
+                        .updatedAt(Instant.now())
+                        .build()))
+                .map(ReactiveEmployeeServiceImpl::toEmployee)
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateEmailConflict(e, employee));
+    }
+
+    @Override
+    public Mono<CursorPage<Employee>> getEmployeesPage(Long after, int size) {
+        int limit = Math.min(Math.max(size, 1), EmployeeServiceImpl.MAX_PAGE_SIZE);
+        return reactiveEmployeeRepository.findPage(after == null ? 0L : after, limit)
+                .map(ReactiveEmployeeServiceImpl::toEmployee)
+                .collectList()
+                .map(employees -> CursorPage.<Employee>builder()
+                        .content(employees)
+                        .next(employees.size() < limit ? null : String.valueOf(employees.get(employees.size() - 1).getId()))
+                        .build());
+    }
+
+    @Override
+    public Flux<Employee> streamEmployees() {
+        // Rows are pulled from the driver only as fast as the subscriber requests them
+        return reactiveEmployeeRepository.streamAllByOrderByIdAsc()
+                .map(ReactiveEmployeeServiceImpl::toEmployee);
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(Long id) {
+        return reactiveEmployeeRepository.findById(id)
+                .map(ReactiveEmployeeServiceImpl::toEmployee);
+    }
+
+    @Override
+    public Mono<Long> getEmployeeVersion(Long id) {
+        return reactiveEmployeeRepository.findVersionById(id);
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Employee employee) {
+        Instant updatedAt = Instant.now();
+        employeeEmailFilter.put(employee.getEmail());
+        return reactiveEmployeeRepository.updateById(employee.getId(),
+                        employee.getName(), employee.getLastname(), employee.getEmail(), updatedAt)
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateEmailConflict(e, employee))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("The employee does not exist: " + employee.getId())))
+                .map(version -> {
+                    employee.setVersion(version);
+                    employee.setUpdatedAt(updatedAt);
+                    return employee;
+                });
+    }
+
+    @Override
+    public Mono<Employee> updateEmployee(Employee employee, long expectedVersion) {
+        Instant updatedAt = Instant.now();
+        employeeEmailFilter.put(employee.getEmail());
+        return reactiveEmployeeRepository.updateIfVersionMatches(employee.getId(), expectedVersion,
+                        employee.getName(), employee.getLastname(), employee.getEmail(), updatedAt)
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateEmailConflict(e, employee))
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return reactiveEmployeeRepository.existsById(employee.getId())
+                                .flatMap(exists -> Mono.error(exists
+                                        ? new EmployeeVersionMismatchException("The employee was modified since version " + expectedVersion + ": " + employee.getId())
+                                        : new ResourceNotFoundException("The employee does not exist: " + employee.getId())));
+                    }
+                    employee.setVersion(expectedVersion + 1);
+                    employee.setUpdatedAt(updatedAt);
+                    return Mono.just(employee);
+                });
+    }
+
+    @Override
+    public Mono<Boolean> deleteEmployee(Long id) {
+        return reactiveEmployeeRepository.deleteEmployeeById(id)
+                .map(deleted -> deleted > 0);
+    }
+
+    private static Employee toEmployee(EmployeeRow row) {
+        return Employee.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .lastname(row.getLastname())
+                .email(row.getEmail())
+                .version(row.getVersion())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private static Throwable translateEmailConflict(DataIntegrityViolationException e, Employee employee) {
+        // The R2DBC driver only reports the violated index in its message
+        String message = e.getMostSpecificCause().getMessage();
+        if (message != null && message.toLowerCase().contains(Employee.EMAIL_CONSTRAINT)) {
+            return new EmployeeIsSavedException("The employee is already saved: " + employee.getEmail());
+        }
+        return e;
+    }
+}
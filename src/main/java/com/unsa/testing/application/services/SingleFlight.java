@@ -0,0 +1,62 @@
+package com.unsa.testing.application.services;
+
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one load per key at a time. Callers that ask for a key while its load is in flight wait for that
+ * load and share its result or exception instead of starting their own. Nothing is kept once the load completes,
+ * so sequential calls always load again; caching stays a separate concern.
+ */
+final class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final Counter loaded;
+    private final Counter coalesced;
+
+    SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.loaded = meterRegistry.counter(MetricsConfig.EMPLOYEE_COALESCING, "call", name, "result", "loaded");
+        this.coalesced = meterRegistry.counter(MetricsConfig.EMPLOYEE_COALESCING, "call", name, "result", "coalesced");
+        meterRegistry.gauge(MetricsConfig.EMPLOYEE_COALESCING + ".in.flight", Tags.of("call", name), calls, Map::size);
+    }
+
+    V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+        if (inFlight != null) {
+            coalesced.increment();
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        loaded.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, call);
+        }
+    }
+
+    // Callers arriving after a write start a new load instead of joining one that may have read the old state
+    void forget(K key) {
+        calls.remove(key);
+    }
+
+    void forgetAll() {
+        calls.clear();
+    }
+}
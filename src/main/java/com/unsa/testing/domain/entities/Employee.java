@@ -2,15 +2,24 @@ package com.unsa.testing.domain.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "employees")
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_CONSTRAINT, columnNames = "email"),
+        indexes = {
+                @Index(name = "idx_employees_name_id", columnList = "name, id"),
+                @Index(name = "idx_employees_lastname_id", columnList = "lastname, id")
+        })
 @Setter @Getter @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Employee {
+    public static final String EMAIL_CONSTRAINT = "uk_employees_email";
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EmployeeSequence
     private Long id;
     @Column(name = "name", nullable = false)
     private String name;
@@ -18,4 +27,10 @@ public class Employee {
     private String lastname;
     @Column(name = "email", nullable = false)
     private String email;
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
 }
@@ -0,0 +1,40 @@
+package com.unsa.testing.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Outbox row holding the state of an employee right after it was created or updated, or right before it was deleted.
+ * Rows are inserted by {@code EmployeeChangeRepository.recordChanges} in the transaction that changed the employee.
+ */
+@Entity
+@Table(name = "employee_changes")
+@Getter @Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChange {
+    // The generator is only declared so the schema has the sequence that recordChanges draws ids from
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_changes_seq")
+    @SequenceGenerator(name = "employee_changes_seq", sequenceName = "employee_changes_seq", allocationSize = 1)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private EmployeeChangeType type;
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+    @Column(name = "name")
+    private String name;
+    @Column(name = "lastname")
+    private String lastname;
+    @Column(name = "email")
+    private String email;
+    @Column(name = "version")
+    private Long version;
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+    @Column(name = "recorded_at", nullable = false)
+    private Instant recordedAt;
+}
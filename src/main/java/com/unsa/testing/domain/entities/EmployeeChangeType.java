@@ -0,0 +1,7 @@
+package com.unsa.testing.domain.entities;
+
+public enum EmployeeChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,41 @@
+package com.unsa.testing.domain.entities;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Sequence generator whose allocation size and optimizer come from the Hibernate settings instead of the mapping, so
+ * they can change per environment. Each sequence call reserves a block of ids held in memory: pooled reads the
+ * sequence value as the block's high end and pooled-lo as its low end. Hi/lo variants that multiply the sequence
+ * value are not accepted, as reactive inserts take ids straight from the sequence and would land inside their blocks.
+ */
+public class EmployeeIdGenerator extends SequenceStyleGenerator {
+    public static final String SEQUENCE = "employees_seq";
+    public static final String ALLOCATION_SIZE = "employee.id.allocation-size";
+    public static final String OPTIMIZER = "employee.id.optimizer";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+    public static final String DEFAULT_OPTIMIZER = "pooled";
+    private static final Set<String> OPTIMIZERS = Set.of("pooled", "pooled-lo");
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService settings = serviceRegistry.getService(ConfigurationService.class);
+        int allocationSize = settings.getSetting(ALLOCATION_SIZE, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        String optimizer = settings.getSetting(OPTIMIZER, StandardConverters.STRING, DEFAULT_OPTIMIZER);
+        if (allocationSize < 1 || !OPTIMIZERS.contains(optimizer)) {
+            throw new MappingException("Employee ids need an allocation size of at least 1 and one of the "
+                    + OPTIMIZERS + " optimizers, not " + allocationSize + " and " + optimizer);
+        }
+        parameters.put(SEQUENCE_PARAM, SEQUENCE);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OPT_PARAM, optimizer);
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
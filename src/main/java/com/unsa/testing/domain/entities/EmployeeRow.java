@@ -0,0 +1,23 @@
+package com.unsa.testing.domain.entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+@Table("employees")
+@Setter @Getter @Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeRow {
+    @Id
+    private Long id;
+    private String name;
+    private String lastname;
+    private String email;
+    @Version
+    private Long version;
+    private Instant updatedAt;
+}
@@ -0,0 +1,15 @@
+package com.unsa.testing.domain.entities;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Ids drawn from employees_seq with the allocation size and optimizer configured under employee.id
+@IdGeneratorType(EmployeeIdGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EmployeeSequence {
+}
@@ -0,0 +1,21 @@
+package com.unsa.testing.domain.entities;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+// Read-only view of an employee, built straight from query columns without a managed entity or its snapshot
+@Getter @Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeSummary {
+    private Long id;
+    private String name;
+    private String lastname;
+    private String email;
+    private Long version;
+    private Instant updatedAt;
+}
@@ -0,0 +1,53 @@
+package com.unsa.testing.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Posting of one three-character substring of an employee's name, lastname or email. Rows are written by the
+ * database trigger on employees, so every write path keeps them current, and a contains search intersects the
+ * postings of its term through the (trigram, field) index instead of scanning the table.
+ */
+@Entity
+@Table(name = "employee_trigrams",
+        indexes = @Index(name = "idx_employee_trigrams_trigram_field", columnList = "trigram, field, employee_id"))
+@IdClass(EmployeeTrigram.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeTrigram {
+    public static final int LENGTH = 3;
+    public static final Set<String> FIELDS = Set.of("name", "lastname", "email");
+    @Id
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+    @Id
+    @Column(name = "field", length = 16, nullable = false)
+    private String field;
+    @Id
+    @Column(name = "trigram", length = LENGTH, nullable = false)
+    private String trigram;
+
+    public static Set<String> of(String value) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (value != null) {
+            for (int i = 0; i + LENGTH <= value.length(); i++) {
+                trigrams.add(value.substring(i, i + LENGTH));
+            }
+        }
+        return trigrams;
+    }
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long employeeId;
+        private String field;
+        private String trigram;
+    }
+}
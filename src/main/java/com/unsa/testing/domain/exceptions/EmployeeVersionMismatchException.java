@@ -0,0 +1,7 @@
+package com.unsa.testing.domain.exceptions;
+
+public class EmployeeVersionMismatchException extends RuntimeException {
+    public EmployeeVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.unsa.testing.domain.exceptions;
+
+public class InvalidEmployeeException extends RuntimeException {
+    public InvalidEmployeeException(String message) {
+        super(message);
+    }
+}
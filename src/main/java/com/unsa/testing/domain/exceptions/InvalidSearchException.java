@@ -0,0 +1,7 @@
+package com.unsa.testing.domain.exceptions;
+
+public class InvalidSearchException extends RuntimeException {
+    public InvalidSearchException(String message) {
+        super(message);
+    }
+}
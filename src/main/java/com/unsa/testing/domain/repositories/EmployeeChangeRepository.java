@@ -0,0 +1,35 @@
+package com.unsa.testing.domain.repositories;
+
+import com.unsa.testing.domain.entities.EmployeeChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+    // Copies the current rows, so the change must be recorded in the same transaction that wrote them
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into employee_changes (id, type, employee_id, name, lastname, email, version, updated_at, recorded_at) "
+            + "select next value for employee_changes_seq, :type, e.id, e.name, e.lastname, e.email, e.version, e.updated_at, current_timestamp "
+            + "from employees e where e.id in :ids order by e.id", nativeQuery = true)
+    int recordChanges(@Param("type") String type, @Param("ids") Collection<Long> ids);
+    List<EmployeeChange> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<EmployeeChange> findByIdBetweenOrderByIdAsc(Long from, Long to, Limit limit);
+    Optional<EmployeeChange> findFirstByOrderByIdAsc();
+    Optional<EmployeeChange> findFirstByOrderByIdDesc();
+    @Transactional
+    @Modifying
+    @Query("delete from EmployeeChange c where c.recordedAt < :cutoff")
+    int deleteRecordedBefore(@Param("cutoff") Instant cutoff);
+}
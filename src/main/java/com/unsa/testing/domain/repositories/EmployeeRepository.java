@@ -1,12 +1,59 @@
 package com.unsa.testing.domain.repositories;
 
 import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>,
+        EmployeeSummaryRepository {
     Optional<Employee> findByEmail(String email);
+    boolean existsByEmail(String email);
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findSavedEmails(@Param("emails") Collection<String> emails);
+    @Transactional(readOnly = true)
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.name = :name, e.lastname = :lastname, e.email = :email, "
+            + "e.version = e.version + 1, e.updatedAt = :updatedAt where e.id = :id and e.version = :version")
+    int updateIfVersionMatches(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+                               @Param("lastname") String lastname, @Param("email") String email,
+                               @Param("updatedAt") Instant updatedAt);
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.name = :name, e.lastname = :lastname, e.email = :email, "
+            + "e.version = e.version + 1, e.updatedAt = :updatedAt where e.id = :id")
+    int updateById(@Param("id") Long id, @Param("name") String name, @Param("lastname") String lastname,
+                   @Param("email") String email, @Param("updatedAt") Instant updatedAt);
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.id = :id")
+    int deleteEmployeeById(@Param("id") Long id);
+    @Query("select new com.unsa.testing.domain.entities.EmployeeSummary(e.id, e.name, e.lastname, e.email, e.version, e.updatedAt) "
+            + "from Employee e order by e.id")
+    List<EmployeeSummary> findAllSummaries();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.unsa.testing.domain.entities.EmployeeSummary(e.id, e.name, e.lastname, e.email, e.version, e.updatedAt) "
+            + "from Employee e order by e.id")
+    Stream<EmployeeSummary> streamAllSummaries();
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("select e.email from Employee e")
+    Stream<String> streamAllEmails();
 }
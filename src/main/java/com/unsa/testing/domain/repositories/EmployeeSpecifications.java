@@ -0,0 +1,69 @@
+package com.unsa.testing.domain.repositories;
+
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeTrigram;
+import com.unsa.testing.domain.exceptions.InvalidSearchException;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Set;
+
+public final class EmployeeSpecifications {
+    private static final char LIKE_ESCAPE = '\\';
+    private EmployeeSpecifications() {
+    }
+    public static Specification<Employee> startsWith(String attribute, String value) {
+        // A prefix pattern can be answered with a range scan over the column index
+        return like(attribute, value, escape(value) + "%");
+    }
+    public static Specification<Employee> contains(String attribute, String value, boolean indexed) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        // Only rows holding every trigram of the term are candidates, so the LIKE filters postings, not the table
+        Set<String> trigrams = EmployeeTrigram.of(value);
+        if (trigrams.isEmpty()) {
+            throw new InvalidSearchException("Contains searches need at least " + EmployeeTrigram.LENGTH + " characters: " + value);
+        }
+        String pattern = "%" + escape(value) + "%";
+        if (!indexed) {
+            return like(attribute, value, pattern);
+        }
+        return (root, query, builder) -> {
+            Subquery<Long> candidates = query.subquery(Long.class);
+            Root<EmployeeTrigram> posting = candidates.from(EmployeeTrigram.class);
+            candidates.select(posting.get("employeeId"))
+                    .where(builder.equal(posting.get("field"), attribute), posting.get("trigram").in(trigrams))
+                    .groupBy(posting.get("employeeId"))
+                    .having(builder.equal(builder.countDistinct(posting.get("trigram")), (long) trigrams.size()));
+            return builder.and(root.get("id").in(candidates), builder.like(root.get(attribute), pattern, LIKE_ESCAPE));
+        };
+    }
+    public static Specification<Employee> idAfter(Long id, Sort.Direction direction) {
+        return (root, query, builder) -> direction.isAscending()
+                ? builder.greaterThan(root.get("id"), id)
+                : builder.lessThan(root.get("id"), id);
+    }
+    public static Specification<Employee> after(String attribute, String value, Long id, Sort.Direction direction) {
+        // Keyset on (attribute, id) so ties on the sorted column still page deterministically
+        return (root, query, builder) -> direction.isAscending()
+                ? builder.or(builder.greaterThan(root.get(attribute), value),
+                        builder.and(builder.equal(root.get(attribute), value), builder.greaterThan(root.get("id"), id)))
+                : builder.or(builder.lessThan(root.get(attribute), value),
+                        builder.and(builder.equal(root.get(attribute), value), builder.lessThan(root.get("id"), id)));
+    }
+    private static Specification<Employee> like(String attribute, String value, String pattern) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return (root, query, builder) -> builder.like(root.get(attribute), pattern, LIKE_ESCAPE);
+    }
+    private static String escape(String value) {
+        return value == null ? null : value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
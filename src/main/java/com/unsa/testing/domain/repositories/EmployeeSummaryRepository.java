@@ -0,0 +1,13 @@
+package com.unsa.testing.domain.repositories;
+
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EmployeeSummaryRepository {
+    List<EmployeeSummary> findSummaries(Specification<Employee> specification, Sort sort, int limit, Collection<String> attributes);
+}
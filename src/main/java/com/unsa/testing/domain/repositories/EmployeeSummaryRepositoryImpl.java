@@ -0,0 +1,62 @@
+package com.unsa.testing.domain.repositories;
+
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public class EmployeeSummaryRepositoryImpl implements EmployeeSummaryRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Override
+    public List<EmployeeSummary> findSummaries(Specification<Employee> specification, Sort sort, int limit, Collection<String> attributes) {
+        // Only the requested columns are selected and each row is read as a tuple, never as a managed entity
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        query.multiselect(attributes.stream()
+                .<Selection<?>>map(attribute -> root.get(attribute).alias(attribute))
+                .toList());
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(tuple -> toSummary(tuple, attributes))
+                .toList();
+    }
+
+    private static EmployeeSummary toSummary(Tuple tuple, Collection<String> attributes) {
+        EmployeeSummary.EmployeeSummaryBuilder summary = EmployeeSummary.builder();
+        for (String attribute : attributes) {
+            Object value = tuple.get(attribute);
+            switch (attribute) {
+                case "id" -> summary.id((Long) value);
+                case "name" -> summary.name((String) value);
+                case "lastname" -> summary.lastname((String) value);
+                case "email" -> summary.email((String) value);
+                case "version" -> summary.version((Long) value);
+                case "updatedAt" -> summary.updatedAt((Instant) value);
+                default -> throw new IllegalArgumentException("Unknown employee attribute: " + attribute);
+            }
+        }
+        return summary.build();
+    }
+}
@@ -0,0 +1,882 @@
+package com.unsa.testing.domain.repositories;
+
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.domain.exceptions.EmployeeIsSavedException;
+import com.unsa.testing.domain.exceptions.EmployeeVersionMismatchException;
+import com.unsa.testing.domain.exceptions.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Employees kept outside the heap for read-mostly deployments. Records are packed into direct or memory-mapped
+ * buffers and found through open-addressing tables over primitive arrays, so each employee costs a few dozen heap
+ * bytes instead of a managed entity with a boxed id and separate strings. The snapshot is mapped when the store
+ * opens, every write is appended to a log that is replayed on open, and the log is folded into a new, compacted
+ * snapshot once it grows past its limit and when the store closes. Compaction runs on a background thread: the log
+ * is set aside while readers go on, the snapshot is written and loaded outside the lock, and writers only wait while
+ * the entries logged in the meantime are replayed onto it. Each set-aside log is numbered, and the snapshot records
+ * the last one it folded, so a log left behind by a compaction that stopped early is replayed only when the snapshot
+ * does not hold it yet. Log writes reach the operating system before a write returns but are not forced to disk,
+ * which keeps the write lock clear of an fsync: a crash of the application loses nothing, while a crash of the host
+ * can lose the writes made since the last snapshot, which is forced.
+ */
+@Slf4j
+public class OffHeapEmployeeStore implements Closeable {
+    private static final int MAGIC = 0x454d5053;
+    private static final int FORMAT_VERSION = 2;
+    // Magic and version, then the next id, the last folded log (from version 2) and the number of blocks
+    private static final int HEADER_SIZE = 2 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+    // id, version and update time, then the UTF-8 lengths of name, lastname and email followed by their bytes
+    private static final int RECORD_HEADER_SIZE = 3 * Long.BYTES + 3 * Short.BYTES;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final int segmentSize;
+    private final int expectedEmployees;
+    private final long logLimit;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock compaction = new ReentrantLock();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final ExecutorService compactor;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private ByteBuffer current;
+    private int currentUsed;
+    private LongTable ids;
+    private LongTable emails;
+    private long[] order;
+    private int orderSize;
+    private int removedFromOrder;
+    private long nextId;
+    private long liveBytes;
+    private long mappedBytes;
+    private long directBytes;
+    private FileChannel appendLog;
+    private long logSize;
+    private long logGeneration;
+    private long setAsideGeneration;
+
+    public OffHeapEmployeeStore(Path directory, int segmentSize, int expectedEmployees, long logLimit) throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotFile = directory.resolve("employees.snapshot");
+        this.logFile = directory.resolve("employees.log");
+        this.segmentSize = segmentSize;
+        this.expectedEmployees = expectedEmployees;
+        this.logLimit = logLimit;
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "employee-store-compaction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        load();
+        log.info("Opened {} employees from {} in {} ms", count(), directory, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Maps the snapshot of store alone, so a compaction can rebuild the indexes without holding its lock
+    private OffHeapEmployeeStore(OffHeapEmployeeStore store) throws IOException {
+        this.snapshotFile = store.snapshotFile;
+        this.logFile = store.logFile;
+        this.segmentSize = store.segmentSize;
+        this.expectedEmployees = store.expectedEmployees;
+        this.logLimit = store.logLimit;
+        this.compactor = null;
+        reset();
+        mapSnapshot();
+    }
+
+    public Employee insert(String name, String lastname, String email, Instant updatedAt) {
+        return insertAll(List.of(Employee.builder().name(name).lastname(lastname).email(email).build()), updatedAt).get(0)
+                .orElseThrow(() -> new EmployeeIsSavedException("The employee is already saved: " + email));
+    }
+
+    // Inserts the employees in order with one log write, leaving empty results for emails already saved
+    public List<Optional<Employee>> insertAll(List<Employee> employees, Instant updatedAt) {
+        lock.writeLock().lock();
+        try {
+            List<Optional<Employee>> saved = new ArrayList<>(employees.size());
+            List<byte[]> entries = new ArrayList<>(employees.size());
+            for (Employee employee : employees) {
+                byte[] email = utf8(employee.getEmail());
+                if (findEmail(email) >= 0) {
+                    saved.add(Optional.empty());
+                    continue;
+                }
+                long id = nextId;
+                byte[] record = encode(id, 0, updatedAt, employee.getName(), employee.getLastname(), employee.getEmail());
+                applyPut(record);
+                entries.add(record);
+                saved.add(Optional.of(decode(address(id), OffHeapEmployeeStore::toEmployee)));
+            }
+            logPuts(entries);
+            return saved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applies the change when the version matches, or always when expectedVersion is null, and returns the new state
+    public Employee update(long id, String name, String lastname, String email, Instant updatedAt, Long expectedVersion) {
+        lock.writeLock().lock();
+        try {
+            long address = address(id);
+            if (address < 0) {
+                throw new ResourceNotFoundException("The employee does not exist: " + id);
+            }
+            long version = segment(address).getLong(offset(address) + Long.BYTES);
+            if (expectedVersion != null && version != expectedVersion) {
+                throw new EmployeeVersionMismatchException("The employee was modified since version " + expectedVersion + ": " + id);
+            }
+            long owner = findEmail(utf8(email));
+            if (owner >= 0 && owner != id) {
+                throw new EmployeeIsSavedException("The employee is already saved: " + email);
+            }
+            byte[] record = encode(id, version + 1, updatedAt, name, lastname, email);
+            applyPut(record);
+            logPuts(List.of(record));
+            return decode(address(id), OffHeapEmployeeStore::toEmployee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean delete(long id) {
+        lock.writeLock().lock();
+        try {
+            if (!applyDelete(id)) {
+                return false;
+            }
+            byte[] entry = ByteBuffer.allocate(Long.BYTES).putLong(id).array();
+            writeLog(DELETE, List.of(entry));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Employee> findById(long id) {
+        lock.readLock().lock();
+        try {
+            long address = address(id);
+            return address < 0 ? Optional.empty() : Optional.of(decode(address, OffHeapEmployeeStore::toEmployee));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Long> findVersionById(long id) {
+        lock.readLock().lock();
+        try {
+            long address = address(id);
+            return address < 0 ? Optional.empty() : Optional.of(segment(address).getLong(offset(address) + Long.BYTES));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Employee> findByEmail(String email) {
+        lock.readLock().lock();
+        try {
+            long id = findEmail(utf8(email));
+            return id < 0 ? Optional.empty() : Optional.of(decode(address(id), OffHeapEmployeeStore::toEmployee));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean existsByEmail(String email) {
+        lock.readLock().lock();
+        try {
+            return findEmail(utf8(email)) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Up to limit employees with ids above after, in id order; callers page through with the last id
+    public List<EmployeeSummary> findAfter(long after, int limit) {
+        lock.readLock().lock();
+        try {
+            List<EmployeeSummary> employees = new ArrayList<>(Math.min(limit, orderSize));
+            int index = Arrays.binarySearch(order, 0, orderSize, after);
+            for (int i = index < 0 ? -index - 1 : index + 1; i < orderSize && employees.size() < limit; i++) {
+                long address = address(order[i]);
+                if (address >= 0) {
+                    employees.add(decode(address, OffHeapEmployeeStore::toSummary));
+                }
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return ids.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long offHeapBytes() {
+        return mappedBytes + directBytes;
+    }
+
+    public long garbageBytes() {
+        return mappedBytes + directBytes - liveBytes;
+    }
+
+    // Folds the log into a new snapshot on the calling thread, after any compaction already running
+    public void snapshot() {
+        compaction.lock();
+        try {
+            long start = System.nanoTime();
+            List<ByteBuffer> sources;
+            long[] addresses;
+            long snapshotNextId;
+            long generation;
+            // Holding the read lock keeps writers out while the log is set aside, and readers go on
+            lock.readLock().lock();
+            try {
+                generation = rotateLog();
+                sources = List.copyOf(segments);
+                addresses = new long[ids.size];
+                int live = 0;
+                for (int i = 0; i < orderSize; i++) {
+                    long address = address(order[i]);
+                    if (address >= 0) {
+                        addresses[live++] = address;
+                    }
+                }
+                snapshotNextId = nextId;
+            } finally {
+                lock.readLock().unlock();
+            }
+            // Records are never overwritten, so the captured ones can be copied while writers append new ones
+            writeSnapshot(sources, addresses, snapshotNextId, generation);
+            OffHeapEmployeeStore compacted = new OffHeapEmployeeStore(this);
+            lock.writeLock().lock();
+            try {
+                compacted.replayLog(logFile);
+                adopt(compacted);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            deleteSetAsideLogs(generation);
+            log.info("Compacted {} employees into a {} KB snapshot in {} ms", addresses.length,
+                    compacted.mappedBytes / 1024, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            compaction.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            if (!compactor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("The background compaction is still running, closing the store after it");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshot();
+        lock.writeLock().lock();
+        try {
+            appendLog.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void scheduleCompaction() {
+        if (!compactionScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactor.execute(this::compactInBackground);
+        } catch (RejectedExecutionException e) {
+            // The store is closing and folds the log itself
+            compactionScheduled.set(false);
+        }
+    }
+
+    private void compactInBackground() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("Could not compact the employee store, the log keeps growing until the next attempt", e);
+            compactionScheduled.set(false);
+            return;
+        }
+        compactionScheduled.set(false);
+        // Writes logged while the compaction ran may already be past the limit again
+        lock.readLock().lock();
+        try {
+            if (logSize > logLimit) {
+                scheduleCompaction();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Moves the log aside under the next number and starts an empty one; the caller keeps writers out
+    private long rotateLog() throws IOException {
+        appendLog.close();
+        // A log left by a compaction that failed keeps its lower number and is folded along with this one
+        Files.move(logFile, setAsideLog(++setAsideGeneration), StandardCopyOption.ATOMIC_MOVE);
+        appendLog = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logSize = 0;
+        return setAsideGeneration;
+    }
+
+    private Path setAsideLog(long generation) {
+        return logFile.resolveSibling(logFile.getFileName() + "." + generation);
+    }
+
+    private List<Long> setAsideGenerations() throws IOException {
+        String prefix = logFile.getFileName() + ".";
+        try (Stream<Path> files = Files.list(logFile.getParent())) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.substring(prefix.length()).matches("\\d+"))
+                    .map(name -> Long.parseLong(name.substring(prefix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void deleteSetAsideLogs(long upTo) throws IOException {
+        for (long generation : setAsideGenerations()) {
+            if (generation <= upTo) {
+                Files.delete(setAsideLog(generation));
+            }
+        }
+    }
+
+    private void adopt(OffHeapEmployeeStore compacted) {
+        segments.clear();
+        segments.addAll(compacted.segments);
+        current = compacted.current;
+        currentUsed = compacted.currentUsed;
+        ids = compacted.ids;
+        emails = compacted.emails;
+        order = compacted.order;
+        orderSize = compacted.orderSize;
+        removedFromOrder = compacted.removedFromOrder;
+        nextId = compacted.nextId;
+        logGeneration = compacted.logGeneration;
+        liveBytes = compacted.liveBytes;
+        mappedBytes = compacted.mappedBytes;
+        directBytes = compacted.directBytes;
+    }
+
+    private void load() throws IOException {
+        reset();
+        mapSnapshot();
+        // Logs set aside by compactions that stopped early hold the entries written before the current log, unless
+        // the snapshot was written before the compaction stopped and already folded them
+        setAsideGeneration = logGeneration;
+        for (long generation : setAsideGenerations()) {
+            if (generation <= logGeneration) {
+                Files.delete(setAsideLog(generation));
+            } else {
+                replayLog(setAsideLog(generation));
+                setAsideGeneration = generation;
+            }
+        }
+        replayLog(logFile);
+        appendLog = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        logSize = appendLog.size();
+    }
+
+    private void reset() {
+        segments.clear();
+        current = null;
+        currentUsed = 0;
+        ids = new LongTable(expectedEmployees);
+        emails = new LongTable(expectedEmployees);
+        order = new long[Math.max(expectedEmployees, 16)];
+        orderSize = 0;
+        removedFromOrder = 0;
+        nextId = 1;
+        logGeneration = 0;
+        liveBytes = 0;
+        mappedBytes = 0;
+        directBytes = 0;
+    }
+
+    private void mapSnapshot() throws IOException {
+        if (Files.exists(snapshotFile)) {
+            try (FileChannel snapshot = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+                ByteBuffer header = read(snapshot, 0, 2 * Integer.BYTES);
+                int version = header.getInt() == MAGIC ? header.getInt() : 0;
+                if (version < 1 || version > FORMAT_VERSION) {
+                    throw new IOException("Not an employee snapshot: " + snapshotFile);
+                }
+                // Version 1 snapshots predate numbered logs and fold none of them
+                int headerSize = version == 1 ? HEADER_SIZE - Long.BYTES : HEADER_SIZE;
+                ByteBuffer fields = read(snapshot, header.capacity(), headerSize - header.capacity());
+                nextId = fields.getLong();
+                logGeneration = version == 1 ? 0 : fields.getLong();
+                int blocks = fields.getInt();
+                long position = headerSize;
+                for (int block = 0; block < blocks; block++) {
+                    int used = read(snapshot, position, Integer.BYTES).getInt();
+                    // Mapped blocks stay valid after the channel closes and are paged in by the OS on demand
+                    ByteBuffer mapped = snapshot.map(FileChannel.MapMode.READ_ONLY, position + Integer.BYTES, used);
+                    segments.add(mapped);
+                    mappedBytes += used;
+                    for (int offset = 0; offset < used; offset += recordSize(mapped, offset)) {
+                        index(address(segments.size() - 1, offset), mapped, offset);
+                    }
+                    position += Integer.BYTES + used;
+                }
+            }
+        }
+    }
+
+    private void replayLog(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (FileChannel replay = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = replay.size();
+            long position = 0;
+            while (position < size) {
+                // A write cut short by a crash leaves a partial entry at the end, which is dropped
+                if (size - position < 1 + Integer.BYTES) {
+                    break;
+                }
+                ByteBuffer header = read(replay, position, 1 + Integer.BYTES);
+                byte type = header.get();
+                int length = header.getInt();
+                if (type != PUT && type != DELETE || size - position - header.capacity() < length) {
+                    break;
+                }
+                ByteBuffer entry = read(replay, position + header.capacity(), length);
+                if (type == PUT) {
+                    applyPut(entry.array());
+                } else {
+                    applyDelete(entry.getLong());
+                }
+                position += header.capacity() + length;
+            }
+            if (position < size) {
+                log.warn("Dropping {} bytes of incomplete writes at the end of {}", size - position, file);
+                replay.truncate(position);
+            }
+        }
+    }
+
+    private void writeSnapshot(List<ByteBuffer> sources, long[] addresses, long snapshotNextId, long generation)
+            throws IOException {
+        // Records are packed into blocks of at most segmentSize, so every block maps as one segment
+        List<Integer> blocks = new ArrayList<>();
+        int used = 0;
+        for (long address : addresses) {
+            int size = recordSize(sources.get((int) (address >>> 32)), offset(address));
+            if (used + size > segmentSize) {
+                blocks.add(used);
+                used = 0;
+            }
+            used += size;
+        }
+        if (used > 0) {
+            blocks.add(used);
+        }
+        Path pending = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel snapshot = FileChannel.open(pending, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer staging = ByteBuffer.allocateDirect(1 << 20);
+            staging.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(snapshotNextId).putLong(generation)
+                    .putInt(blocks.size());
+            int record = 0;
+            for (int block : blocks) {
+                staging = stage(snapshot, staging, Integer.BYTES).putInt(block);
+                for (int written = 0; written < block; record++) {
+                    long address = addresses[record];
+                    ByteBuffer source = sources.get((int) (address >>> 32));
+                    int size = recordSize(source, offset(address));
+                    stage(snapshot, staging, size).put(source.slice(offset(address), size));
+                    written += size;
+                }
+            }
+            staging.flip();
+            writeFully(snapshot, staging);
+            snapshot.force(true);
+        }
+        Files.move(pending, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void applyPut(byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        long id = buffer.getLong(0);
+        long previous = ids.get(id);
+        if (previous >= 0) {
+            ByteBuffer segment = segment(previous);
+            emails.remove(emailHash(segment, offset(previous)), id);
+            liveBytes -= recordSize(segment, offset(previous));
+            ids.remove(id, previous);
+        }
+        if (current == null || currentUsed + record.length > current.capacity()) {
+            current = ByteBuffer.allocateDirect(segmentSize);
+            currentUsed = 0;
+            segments.add(current);
+            directBytes += segmentSize;
+        }
+        current.put(currentUsed, record);
+        long address = address(segments.size() - 1, currentUsed);
+        currentUsed += record.length;
+        if (previous >= 0) {
+            ids.put(id, address);
+            emails.put(emailHash(current, offset(address)), id);
+            liveBytes += record.length;
+        } else {
+            index(address, current, offset(address));
+        }
+    }
+
+    private boolean applyDelete(long id) {
+        long address = ids.get(id);
+        if (address < 0) {
+            return false;
+        }
+        ByteBuffer segment = segment(address);
+        emails.remove(emailHash(segment, offset(address)), id);
+        liveBytes -= recordSize(segment, offset(address));
+        ids.remove(id, address);
+        // Deleted ids stay in the order array until they make up half of it
+        if (++removedFromOrder > orderSize / 2) {
+            compactOrder();
+        }
+        return true;
+    }
+
+    private void index(long address, ByteBuffer segment, int offset) {
+        long id = segment.getLong(offset);
+        ids.put(id, address);
+        emails.put(emailHash(segment, offset), id);
+        liveBytes += recordSize(segment, offset);
+        if (orderSize == order.length) {
+            order = Arrays.copyOf(order, order.length * 2);
+        }
+        order[orderSize++] = id;
+        nextId = Math.max(nextId, id + 1);
+    }
+
+    private void compactOrder() {
+        int live = 0;
+        for (int i = 0; i < orderSize; i++) {
+            if (ids.get(order[i]) >= 0) {
+                order[live++] = order[i];
+            }
+        }
+        orderSize = live;
+        removedFromOrder = 0;
+    }
+
+    private void logPuts(List<byte[]> records) {
+        if (!records.isEmpty()) {
+            writeLog(PUT, records);
+        }
+    }
+
+    private void writeLog(byte type, List<byte[]> entries) {
+        int size = entries.stream().mapToInt(entry -> 1 + Integer.BYTES + entry.length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] entry : entries) {
+            buffer.put(type).putInt(entry.length).put(entry);
+        }
+        buffer.flip();
+        try {
+            writeFully(appendLog, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logSize += size;
+        if (logSize > logLimit) {
+            scheduleCompaction();
+        }
+    }
+
+    private long address(long id) {
+        return ids.get(id);
+    }
+
+    private long findEmail(byte[] email) {
+        long hash = hash(email, 0, email.length);
+        return emails.find(hash, id -> {
+            long address = ids.get(id);
+            ByteBuffer segment = segment(address);
+            int offset = offset(address);
+            int length = segment.getShort(offset + 3 * Long.BYTES + 2 * Short.BYTES);
+            int start = offset + RECORD_HEADER_SIZE + segment.getShort(offset + 3 * Long.BYTES)
+                    + segment.getShort(offset + 3 * Long.BYTES + Short.BYTES);
+            return length == email.length && segment.slice(start, length).equals(ByteBuffer.wrap(email));
+        });
+    }
+
+    private ByteBuffer segment(long address) {
+        return segments.get((int) (address >>> 32));
+    }
+
+    private <T> T decode(long address, Function<RecordView, T> mapper) {
+        ByteBuffer segment = segment(address);
+        int offset = offset(address);
+        int nameLength = segment.getShort(offset + 3 * Long.BYTES);
+        int lastnameLength = segment.getShort(offset + 3 * Long.BYTES + Short.BYTES);
+        int emailLength = segment.getShort(offset + 3 * Long.BYTES + 2 * Short.BYTES);
+        int start = offset + RECORD_HEADER_SIZE;
+        long micros = segment.getLong(offset + 2 * Long.BYTES);
+        return mapper.apply(new RecordView(
+                segment.getLong(offset),
+                segment.getLong(offset + Long.BYTES),
+                micros == NO_TIMESTAMP ? null : Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                        Math.floorMod(micros, 1_000_000L) * 1_000),
+                string(segment, start, nameLength),
+                string(segment, start + nameLength, lastnameLength),
+                string(segment, start + nameLength + lastnameLength, emailLength)));
+    }
+
+    private static Employee toEmployee(RecordView record) {
+        return Employee.builder()
+                .id(record.id())
+                .version(record.version())
+                .updatedAt(record.updatedAt())
+                .name(record.name())
+                .lastname(record.lastname())
+                .email(record.email())
+                .build();
+    }
+
+    private static EmployeeSummary toSummary(RecordView record) {
+        return EmployeeSummary.builder()
+                .id(record.id())
+                .version(record.version())
+                .updatedAt(record.updatedAt())
+                .name(record.name())
+                .lastname(record.lastname())
+                .email(record.email())
+                .build();
+    }
+
+    private static byte[] encode(long id, long version, Instant updatedAt, String name, String lastname, String email) {
+        byte[] nameBytes = utf8(name);
+        byte[] lastnameBytes = utf8(lastname);
+        byte[] emailBytes = utf8(email);
+        if (Math.max(nameBytes.length, Math.max(lastnameBytes.length, emailBytes.length)) > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("The employee columns are too long to store: " + id);
+        }
+        long micros = updatedAt == null ? NO_TIMESTAMP
+                : Math.addExact(Math.multiplyExact(updatedAt.getEpochSecond(), 1_000_000L), updatedAt.getNano() / 1_000);
+        return ByteBuffer.allocate(RECORD_HEADER_SIZE + nameBytes.length + lastnameBytes.length + emailBytes.length)
+                .putLong(id)
+                .putLong(version)
+                .putLong(micros)
+                .putShort((short) nameBytes.length)
+                .putShort((short) lastnameBytes.length)
+                .putShort((short) emailBytes.length)
+                .put(nameBytes)
+                .put(lastnameBytes)
+                .put(emailBytes)
+                .array();
+    }
+
+    private static int recordSize(ByteBuffer segment, int offset) {
+        return RECORD_HEADER_SIZE + segment.getShort(offset + 3 * Long.BYTES)
+                + segment.getShort(offset + 3 * Long.BYTES + Short.BYTES)
+                + segment.getShort(offset + 3 * Long.BYTES + 2 * Short.BYTES);
+    }
+
+    private static long emailHash(ByteBuffer segment, int offset) {
+        int start = offset + RECORD_HEADER_SIZE + segment.getShort(offset + 3 * Long.BYTES)
+                + segment.getShort(offset + 3 * Long.BYTES + Short.BYTES);
+        int length = segment.getShort(offset + 3 * Long.BYTES + 2 * Short.BYTES);
+        byte[] email = new byte[length];
+        segment.get(start, email);
+        return hash(email, 0, length);
+    }
+
+    private static long hash(byte[] bytes, int start, int length) {
+        // FNV-1a spread by the murmur finalizer; 0 marks empty slots, so it is never returned
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < start + length; i++) {
+            hash = (hash ^ (bytes[i] & 0xff)) * 0x100000001b3L;
+        }
+        hash = LongTable.mix(hash);
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static String string(ByteBuffer segment, int start, int length) {
+        byte[] bytes = new byte[length];
+        segment.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long address(int segment, int offset) {
+        return (long) segment << 32 | offset;
+    }
+
+    private static int offset(long address) {
+        return (int) address;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + channel);
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static ByteBuffer stage(FileChannel channel, ByteBuffer staging, int length) throws IOException {
+        if (staging.remaining() < length) {
+            staging.flip();
+            writeFully(channel, staging);
+            staging.clear();
+        }
+        return staging;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private record RecordView(long id, long version, Instant updatedAt, String name, String lastname, String email) {
+    }
+
+    /**
+     * Open-addressing table of long pairs with linear probing. Keys are never 0, which marks an empty slot, and
+     * removals shift the following entries back instead of leaving tombstones. The same key may be stored with
+     * several values, as email hashes can collide.
+     */
+    private static final class LongTable {
+        private long[] keys;
+        private long[] values;
+        private int mask;
+        private int size;
+
+        private LongTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private long get(long key) {
+            for (int slot = (int) mix(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        private long find(long key, java.util.function.LongPredicate accept) {
+            for (int slot = (int) mix(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key && accept.test(values[slot])) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        private void put(long key, long value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+        }
+
+        private void remove(long key, long value) {
+            for (int slot = (int) mix(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key && values[slot] == value) {
+                    shiftBack(slot);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        private void shiftBack(int hole) {
+            for (int slot = (hole + 1) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                // An entry may fill the hole when the hole lies between its home slot and where it sits now
+                int home = (int) mix(keys[slot]) & mask;
+                if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                    keys[hole] = keys[slot];
+                    values[hole] = values[slot];
+                    hole = slot;
+                }
+            }
+            keys[hole] = 0;
+            values[hole] = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldValues.length * 2];
+            mask = keys.length - 1;
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static long mix(long hash) {
+            hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+            hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return hash ^ (hash >>> 33);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.unsa.testing.domain.repositories;
+
+import com.unsa.testing.domain.entities.EmployeeRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+@Repository
+public interface ReactiveEmployeeRepository extends R2dbcRepository<EmployeeRow, Long> {
+    @Query("select next value for employees_seq")
+    Mono<Long> nextId();
+    @Query("select version from employees where id = :id")
+    Mono<Long> findVersionById(@Param("id") Long id);
+    @Query("select * from employees where id > :after order by id limit :limit")
+    Flux<EmployeeRow> findPage(@Param("after") Long after, @Param("limit") int limit);
+    @Query("select * from employees order by id")
+    Flux<EmployeeRow> streamAllByOrderByIdAsc();
+    @Modifying
+    @Query("update employees set name = :name, lastname = :lastname, email = :email, "
+            + "version = version + 1, updated_at = :updatedAt where id = :id and version = :version")
+    Mono<Integer> updateIfVersionMatches(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+                                         @Param("lastname") String lastname, @Param("email") String email,
+                                         @Param("updatedAt") Instant updatedAt);
+    // The update and the read of its new version are one statement, so no other write can slip in between
+    @Query("select version from final table (update employees set name = :name, lastname = :lastname, email = :email, "
+            + "version = version + 1, updated_at = :updatedAt where id = :id)")
+    Mono<Long> updateById(@Param("id") Long id, @Param("name") String name, @Param("lastname") String lastname,
+                          @Param("email") String email, @Param("updatedAt") Instant updatedAt);
+    @Modifying
+    @Query("delete from employees where id = :id")
+    Mono<Integer> deleteEmployeeById(@Param("id") Long id);
+}
@@ -0,0 +1,44 @@
+package com.unsa.testing.infrastructure;
+
+import com.unsa.testing.application.services.EmployeeChangeSubscriber;
+import com.unsa.testing.domain.entities.EmployeeChange;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+// Each event id is the change offset, so EventSource clients resume with Last-Event-ID when they reconnect
+final class EmployeeChangeEmitter implements EmployeeChangeSubscriber {
+    private final SseEmitter emitter;
+
+    EmployeeChangeEmitter(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void onChange(EmployeeChange change) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(change.getId()))
+                .name(change.getType().name().toLowerCase(Locale.ROOT))
+                .data(change, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void onReset(long offset) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(offset))
+                .name("reset")
+                .data(offset));
+    }
+
+    @Override
+    public void onHeartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void onComplete() {
+        emitter.complete();
+    }
+}
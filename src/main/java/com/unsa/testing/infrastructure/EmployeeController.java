@@ -1,48 +1,158 @@
 package com.unsa.testing.infrastructure;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeSearchCriteria;
+import com.unsa.testing.application.dto.EmployeeSearchMatch;
+import com.unsa.testing.application.dto.EmployeeSortField;
+import com.unsa.testing.application.services.EmployeeBatchService;
 import com.unsa.testing.application.services.EmployeeService;
 import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.infrastructure.config.ReactiveConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
 
 @RestController
+@Profile("!" + ReactiveConfig.PROFILE)
 @RequestMapping("/api/employee")
 public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
+    @Autowired
+    private EmployeeBatchService employeeBatchService;
+    @Autowired
+    private ObjectMapper objectMapper;
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Employee saveEmployee(@RequestBody Employee employee) {
         return employeeService.saveEmployee(employee);
     }
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public EmployeeImportReport saveEmployees(InputStream body) throws IOException {
+        try (MappingIterator<Employee> employees = objectMapper.readerFor(Employee.class).readValues(body)) {
+            return employeeBatchService.importEmployees(employees);
+        }
+    }
     @GetMapping
-    public List<Employee> listEmployees() {
-        return employeeService.getAllEmployees();
+    public ResponseEntity<CursorPage<EmployeeSummary>> listEmployees(@RequestParam(name = "after", required = false) Long after,
+                                                                     @RequestParam(name = "size", defaultValue = "50") int size,
+                                                                     @RequestParam(name = "fields", required = false) String fields) {
+        CursorPage<EmployeeSummary> page = employeeService.getEmployeesPage(after, size, EmployeeHttpSupport.fields(fields));
+        // A matching If-None-Match is answered with 304 by Spring before the page is serialized
+        return ResponseEntity.ok()
+                .eTag(EmployeeHttpSupport.pageETag(page, EmployeeSummary::getId, EmployeeSummary::getVersion))
+                .body(page);
+    }
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<EmployeeSummary>> searchEmployees(@RequestParam(name = "name", required = false) String name,
+                                                                       @RequestParam(name = "lastname", required = false) String lastname,
+                                                                       @RequestParam(name = "email", required = false) String email,
+                                                                       @RequestParam(name = "match", defaultValue = "prefix") String match,
+                                                                       @RequestParam(name = "sort", defaultValue = "id") String sort,
+                                                                       @RequestParam(name = "direction", defaultValue = "asc") String direction,
+                                                                       @RequestParam(name = "after", required = false) String after,
+                                                                       @RequestParam(name = "size", defaultValue = "50") int size,
+                                                                       @RequestParam(name = "fields", required = false) String fields) {
+        EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder()
+                .name(name)
+                .lastname(lastname)
+                .email(email)
+                .match(EmployeeHttpSupport.option(EmployeeSearchMatch.class, "match", match))
+                .sort(EmployeeHttpSupport.option(EmployeeSortField.class, "sort", sort))
+                .direction(EmployeeHttpSupport.option(Sort.Direction.class, "direction", direction))
+                .fields(EmployeeHttpSupport.fields(fields))
+                .after(after)
+                .size(size)
+                .build();
+        CursorPage<EmployeeSummary> page = employeeService.searchEmployees(criteria);
+        return ResponseEntity.ok()
+                .eTag(EmployeeHttpSupport.pageETag(page, EmployeeSummary::getId, EmployeeSummary::getVersion))
+                .body(page);
     }
-    @GetMapping("/{id}")
-    public ResponseEntity<Employee> findEmployeeById(@PathVariable("id") Long id) {
+    @GetMapping(params = "stream=true", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamEmployees(@RequestHeader(name = HttpHeaders.ACCEPT, defaultValue = MediaType.ALL_VALUE) String accept) {
+        // NDJSON lets clients parse each employee as it arrives instead of waiting for the closing bracket
+        boolean ndjson = MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                if (ndjson) {
+                    generator.setRootValueSeparator(null);
+                } else {
+                    generator.writeStartArray();
+                }
+                employeeService.streamEmployees(employee -> {
+                    try {
+                        generator.writeObject(employee);
+                        if (ndjson) {
+                            generator.writeRaw('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (!ndjson) {
+                    generator.writeEndArray();
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    // Digits only, so paths of endpoints another profile leaves out answer 404 instead of a bad id
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<Employee> findEmployeeById(@PathVariable("id") Long id, WebRequest request) {
+        // Revalidation only needs the version, answered from the employees cache or the version column
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = employeeService.getEmployeeVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (request.checkNotModified(EmployeeHttpSupport.eTag(version.get()))) {
+                return null;
+            }
+        }
         return employeeService.getEmployeeById(id)
-                .map(ResponseEntity::ok)
+                .map(EmployeeHttpSupport::versioned)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
-    @PutMapping("/{id}")
-    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") Long id, @RequestBody Employee employee) {
-        return employeeService.getEmployeeById(id)
-                .map(savedEmployee -> {
-                    savedEmployee.setName(employee.getName());
-                    savedEmployee.setLastname(employee.getLastname());
-                    savedEmployee.setEmail(employee.getEmail());
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
-                }).orElseGet(() -> ResponseEntity.notFound().build());
-    }
-    @DeleteMapping("/{id}")
+    @PutMapping("/{id:\\d+}")
+    public ResponseEntity<Employee> updateEmployee(@PathVariable("id") Long id, @RequestBody Employee employee,
+                                                   @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Employee changes = Employee.builder()
+                .id(id)
+                .name(employee.getName())
+                .lastname(employee.getLastname())
+                .email(employee.getEmail())
+                .build();
+        Employee updatedEmployee = EmployeeHttpSupport.isConditional(ifMatch)
+                ? employeeService.updateEmployee(changes, EmployeeHttpSupport.parseVersion(ifMatch))
+                : employeeService.updateEmployee(changes);
+        return EmployeeHttpSupport.versioned(updatedEmployee);
+    }
+    @DeleteMapping("/{id:\\d+}")
     public ResponseEntity<String> deleteEmployee(@PathVariable("id") Long id) {
-        employeeService.deleteEmployee(id);
-        return new ResponseEntity<String>("Employee was deleted", HttpStatus.NOT_FOUND);
+        if (!employeeService.deleteEmployee(id)) {
+            return new ResponseEntity<String>("Employee was not found", HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<String>("Employee was deleted", HttpStatus.OK);
     }
 }
@@ -0,0 +1,53 @@
+package com.unsa.testing.infrastructure;
+
+import com.unsa.testing.domain.exceptions.EmployeeIsSavedException;
+import com.unsa.testing.domain.exceptions.EmployeeVersionMismatchException;
+import com.unsa.testing.domain.exceptions.IngestionQueueFullException;
+import com.unsa.testing.domain.exceptions.InvalidEmployeeException;
+import com.unsa.testing.domain.exceptions.InvalidSearchException;
+import com.unsa.testing.domain.exceptions.ResourceNotFoundException;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class EmployeeExceptionHandler {
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @ExceptionHandler(EmployeeIsSavedException.class)
+    public ResponseEntity<String> handleEmployeeIsSaved(EmployeeIsSavedException e) {
+        return respond(e, HttpStatus.CONFLICT);
+    }
+    @ExceptionHandler(EmployeeVersionMismatchException.class)
+    public ResponseEntity<String> handleEmployeeVersionMismatch(EmployeeVersionMismatchException e) {
+        return respond(e, HttpStatus.PRECONDITION_FAILED);
+    }
+    @ExceptionHandler(InvalidEmployeeException.class)
+    public ResponseEntity<String> handleInvalidEmployee(InvalidEmployeeException e) {
+        return respond(e, HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(IngestionQueueFullException.class)
+    public ResponseEntity<String> handleIngestionQueueFull(IngestionQueueFullException e) {
+        meterRegistry.counter(MetricsConfig.EMPLOYEE_ERRORS, "exception", e.getClass().getSimpleName()).increment();
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+    @ExceptionHandler(InvalidSearchException.class)
+    public ResponseEntity<String> handleInvalidSearch(InvalidSearchException e) {
+        return respond(e, HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<String> handleResourceNotFound(ResourceNotFoundException e) {
+        return respond(e, HttpStatus.NOT_FOUND);
+    }
+    private ResponseEntity<String> respond(RuntimeException e, HttpStatus status) {
+        meterRegistry.counter(MetricsConfig.EMPLOYEE_ERRORS, "exception", e.getClass().getSimpleName()).increment();
+        return new ResponseEntity<>(e.getMessage(), status);
+    }
+}
@@ -0,0 +1,35 @@
+package com.unsa.testing.infrastructure;
+
+import com.unsa.testing.application.dto.EmployeeExportFormat;
+import com.unsa.testing.application.services.EmployeeExportService;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Exports every employee to employee.export.file on startup. With spring.main.web-application-type=none the
+ * application exits once the file is written, and running it again continues from the file's checkpoint.
+ */
+@Component
+@Profile("!" + OffHeapConfig.PROFILE)
+@ConditionalOnProperty("employee.export.file")
+public class EmployeeExportJob implements ApplicationRunner {
+    @Autowired
+    private EmployeeExportService employeeExportService;
+    @Value("${employee.export.file}")
+    private String file;
+    @Value("${employee.export.format:csv}")
+    private String format;
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        employeeExportService.exportEmployees(EmployeeExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT)), Path.of(file));
+    }
+}
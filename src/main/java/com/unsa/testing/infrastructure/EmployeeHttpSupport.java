@@ -0,0 +1,96 @@
+package com.unsa.testing.infrastructure;
+
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeExportFormat;
+import com.unsa.testing.application.dto.EmployeeField;
+import com.unsa.testing.application.dto.EmployeeIngestion;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.exceptions.EmployeeVersionMismatchException;
+import com.unsa.testing.domain.exceptions.InvalidEmployeeException;
+import com.unsa.testing.domain.exceptions.InvalidSearchException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class EmployeeHttpSupport {
+    static final String PREFER_RESPOND_ASYNC = "Prefer=respond-async";
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+    static final String TEXT_CSV_VALUE = "text/csv";
+    static final String COLUMNAR_VALUE = "application/x-employee-columnar";
+    private static final Pattern STRONG_VERSION_TAG = Pattern.compile("\"(\\d{1,18})\"");
+    private EmployeeHttpSupport() {
+    }
+    static ResponseEntity<Employee> versioned(Employee employee) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (employee.getVersion() != null) {
+            response.eTag(eTag(employee.getVersion()));
+        }
+        if (employee.getUpdatedAt() != null) {
+            response.lastModified(employee.getUpdatedAt());
+        }
+        return response.body(employee);
+    }
+    static ResponseEntity<EmployeeIngestion> accepted(EmployeeIngestion ingestion) {
+        return ResponseEntity.accepted()
+                .location(UriComponentsBuilder.fromPath("/api/employee/ingestions/{ticket}").build(ingestion.getTicket()))
+                .header("Preference-Applied", "respond-async")
+                .body(ingestion);
+    }
+    static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+    static <T> String pageETag(CursorPage<T> page, Function<T, Long> id, Function<T, Long> version) {
+        StringBuilder versions = new StringBuilder();
+        for (T employee : page.getContent()) {
+            versions.append(id.apply(employee)).append(':').append(version.apply(employee)).append(';');
+        }
+        versions.append(page.getNext());
+        return "\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+    static boolean isConditional(String ifMatch) {
+        return ifMatch != null && !ifMatch.trim().equals("*");
+    }
+    static long parseVersion(String ifMatch) {
+        Matcher matcher = STRONG_VERSION_TAG.matcher(ifMatch.trim());
+        if (!matcher.matches()) {
+            throw new EmployeeVersionMismatchException("The If-Match header does not name a version: " + ifMatch);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+    static Set<EmployeeField> fields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(EmployeeField.class);
+        }
+        Set<EmployeeField> selected = EnumSet.noneOf(EmployeeField.class);
+        for (String field : fields.split(",")) {
+            selected.add(Arrays.stream(EmployeeField.values())
+                    .filter(candidate -> candidate.getAttribute().equalsIgnoreCase(field.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidSearchException("The fields parameter is not valid: " + fields)));
+        }
+        return selected;
+    }
+    static <E extends Enum<E>> E option(Class<E> type, String parameter, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSearchException("The " + parameter + " parameter is not valid: " + value);
+        }
+    }
+    static EmployeeExportFormat exportFormat(MediaType contentType) {
+        return Arrays.stream(EmployeeExportFormat.values())
+                .filter(format -> MediaType.parseMediaType(format.getMediaType()).equalsTypeAndSubtype(contentType))
+                .findFirst()
+                .orElseThrow(() -> new InvalidEmployeeException("The content type cannot be imported: " + contentType));
+    }
+}
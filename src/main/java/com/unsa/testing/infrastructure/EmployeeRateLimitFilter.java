@@ -0,0 +1,184 @@
+package com.unsa.testing.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import com.unsa.testing.infrastructure.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rejects employee requests with 429 once their budget is exhausted, before they reach the controller or borrow a
+ * connection. Listings, single reads, writes and change streams have separate budgets, each one a bulkhead shared
+ * by every client and a token bucket per client address.
+ */
+public class EmployeeRateLimitFilter extends OncePerRequestFilter {
+    private final Map<String, Limiter> limiters = new HashMap<>();
+
+    public EmployeeRateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        properties.getBudgets().forEach((name, budget) -> {
+            Limiter limiter = new Limiter(name, budget, properties, meterRegistry);
+            meterRegistry.gauge(MetricsConfig.EMPLOYEE_RATE_LIMIT + ".active", Tags.of("budget", name), limiter, Limiter::active);
+            limiters.put(name, limiter);
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Limiter limiter = limiters.get(budget(request));
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = limiter.tryConsume(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            limiter.rateRejections.increment();
+            reject(response, Math.max(TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1), 1),
+                    "Too many " + limiter.name + " requests from this client");
+            return;
+        }
+        if (!limiter.bulkhead.tryAcquire()) {
+            limiter.concurrencyRejections.increment();
+            reject(response, 1, "Too many " + limiter.name + " requests in progress");
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                limiter.bulkhead.release();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Streamed listings keep running after the filter returns, so they hold their permit until the response completes
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private static String budget(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return RateLimitProperties.WRITE;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals("/api/employee/changes")) {
+            return RateLimitProperties.CHANGES;
+        }
+        return path.equals("/api/employee") || path.equals("/api/employee/") || path.equals("/api/employee/search")
+                || path.equals("/api/employee/export")
+                ? RateLimitProperties.LIST
+                : RateLimitProperties.READ;
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private static final class Limiter {
+        private final String name;
+        private final RateLimitProperties.Budget budget;
+        private final Semaphore bulkhead;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter rateRejections;
+        private final Counter concurrencyRejections;
+
+        private Limiter(String name, RateLimitProperties.Budget budget, RateLimitProperties properties, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.budget = budget;
+            this.bulkhead = new Semaphore(budget.getConcurrency());
+            this.buckets = Caffeine.newBuilder()
+                    .expireAfterAccess(properties.getClientIdle())
+                    .maximumSize(properties.getMaxClients())
+                    .build();
+            this.rateRejections = meterRegistry.counter(MetricsConfig.EMPLOYEE_RATE_LIMIT, "budget", name, "reason", "rate");
+            this.concurrencyRejections = meterRegistry.counter(MetricsConfig.EMPLOYEE_RATE_LIMIT, "budget", name, "reason", "concurrency");
+        }
+
+        private long tryConsume(String client) {
+            if (Double.isInfinite(budget.getRequestsPerSecond())) {
+                return 0;
+            }
+            return buckets.get(client, key -> new TokenBucket(budget.getBurst(), budget.getRequestsPerSecond())).tryConsume();
+        }
+
+        private double active() {
+            return budget.getConcurrency() - bulkhead.availablePermits();
+        }
+    }
+
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(int capacity, double tokensPerSecond) {
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        // Takes a token and returns 0, or returns how long until the next token without taking one
+        private synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+
+    private record ReleasingListener(Runnable release) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
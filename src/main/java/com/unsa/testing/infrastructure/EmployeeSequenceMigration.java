@@ -0,0 +1,58 @@
+package com.unsa.testing.infrastructure;
+
+import com.unsa.testing.domain.entities.EmployeeIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings an existing employees table in line with the configured allocation size before Hibernate starts, since
+ * its generator refuses a sequence whose increment differs. A table whose ids came from an identity column gets a
+ * sequence starting past them, and a sequence with another increment restarts past every id it may have issued,
+ * so no pooled block overlaps an existing one. Fresh schemas are left to Hibernate. The lookups use H2's
+ * information schema, where BASE_VALUE is the next value the sequence returns.
+ */
+@Slf4j
+public class EmployeeSequenceMigration implements InitializingBean {
+    private final JdbcTemplate jdbcTemplate;
+    private final int allocationSize;
+
+    public EmployeeSequenceMigration(DataSource dataSource, int allocationSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.allocationSize = allocationSize;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Integer tables = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.tables where lower(table_name) = 'employees'", Integer.class);
+        if (tables == null || tables == 0) {
+            return;
+        }
+        long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from employees", Long.class);
+        List<Map<String, Object>> sequences = jdbcTemplate.queryForList(
+                "select increment, base_value from information_schema.sequences where lower(sequence_name) = ?",
+                EmployeeIdGenerator.SEQUENCE);
+        if (sequences.isEmpty()) {
+            // The first block a pooled optimizer reserves ends at the start value, so it begins right after maxId
+            jdbcTemplate.execute("create sequence " + EmployeeIdGenerator.SEQUENCE
+                    + " start with " + (maxId + allocationSize) + " increment by " + allocationSize);
+            log.info("Created {} after employee id {} with increment {}", EmployeeIdGenerator.SEQUENCE, maxId, allocationSize);
+            return;
+        }
+        long increment = Long.parseLong(String.valueOf(sequences.get(0).get("INCREMENT")));
+        if (increment == allocationSize) {
+            return;
+        }
+        // Under either optimizer every id handed out so far is below the next value the sequence returns
+        long issued = Math.max(maxId, ((Number) sequences.get(0).get("BASE_VALUE")).longValue() - 1);
+        jdbcTemplate.execute("alter sequence " + EmployeeIdGenerator.SEQUENCE
+                + " restart with " + (issued + allocationSize) + " increment by " + allocationSize);
+        log.info("Restarted {} after employee id {} with increment {} instead of {}", EmployeeIdGenerator.SEQUENCE,
+                issued, allocationSize, increment);
+    }
+}
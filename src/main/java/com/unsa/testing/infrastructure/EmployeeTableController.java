@@ -0,0 +1,86 @@
+package com.unsa.testing.infrastructure;
+
+import com.unsa.testing.application.dto.EmployeeExportFormat;
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeIngestion;
+import com.unsa.testing.application.services.EmployeeChangeService;
+import com.unsa.testing.application.services.EmployeeChangeSubscriber;
+import com.unsa.testing.application.services.EmployeeExportService;
+import com.unsa.testing.application.services.EmployeeIngestionService;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import com.unsa.testing.infrastructure.config.ReactiveConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.time.Duration;
+
+/**
+ * Employee endpoints that read or write the employees table and its outbox directly: queued ingestion, file export
+ * and import, and the change stream. The off-heap store never reaches that table, so the offheap profile leaves them
+ * out instead of answering from stale rows.
+ */
+@RestController
+@Profile("!" + ReactiveConfig.PROFILE + " & !" + OffHeapConfig.PROFILE)
+@RequestMapping("/api/employee")
+public class EmployeeTableController {
+    @Autowired
+    private EmployeeIngestionService employeeIngestionService;
+    @Autowired
+    private EmployeeExportService employeeExportService;
+    @Autowired
+    private EmployeeChangeService employeeChangeService;
+    @Value("${employee.changes.timeout:30m}")
+    private Duration changesTimeout;
+    @PostMapping(headers = EmployeeHttpSupport.PREFER_RESPOND_ASYNC)
+    public ResponseEntity<EmployeeIngestion> ingestEmployee(@RequestBody Employee employee) {
+        return EmployeeHttpSupport.accepted(employeeIngestionService.submit(employee));
+    }
+    @GetMapping("/ingestions/{ticket}")
+    public ResponseEntity<EmployeeIngestion> findIngestion(@PathVariable("ticket") String ticket) {
+        return employeeIngestionService.getIngestion(ticket)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    @PostMapping(path = "/import", consumes = {EmployeeHttpSupport.TEXT_CSV_VALUE, EmployeeHttpSupport.COLUMNAR_VALUE})
+    public EmployeeImportReport importEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+        return employeeExportService.importEmployees(EmployeeHttpSupport.exportFormat(contentType), Channels.newChannel(body));
+    }
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(@RequestParam(name = "format", defaultValue = "csv") String format,
+                                                                 @RequestParam(name = "after", required = false) Long after) {
+        // Rows go from the cursor to the response a block at a time; an interrupted download resumes with the last id received
+        EmployeeExportFormat exportFormat = EmployeeHttpSupport.option(EmployeeExportFormat.class, "format", format);
+        StreamingResponseBody body = outputStream ->
+                employeeExportService.exportEmployees(exportFormat, after, Channels.newChannel(outputStream));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("employees." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(name = EmployeeHttpSupport.LAST_EVENT_ID, required = false) Long lastEventId,
+                                    @RequestParam(name = "after", required = false) Long after) {
+        // Timed out streams are completed so clients reconnect and resume instead of holding a connection forever
+        SseEmitter emitter = new SseEmitter(changesTimeout.toMillis());
+        EmployeeChangeSubscriber subscriber = new EmployeeChangeEmitter(emitter);
+        emitter.onCompletion(() -> employeeChangeService.unsubscribe(subscriber));
+        emitter.onError(e -> employeeChangeService.unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        employeeChangeService.subscribe(lastEventId != null ? lastEventId : after, subscriber);
+        return emitter;
+    }
+}
@@ -0,0 +1,88 @@
+package com.unsa.testing.infrastructure;
+
+import com.unsa.testing.domain.entities.EmployeeTrigram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Installs {@link EmployeeTrigramTrigger} once Hibernate has generated the schema, when the index is enabled and the
+ * database is H2. When the trigger is new and the table already holds employees, their postings are backfilled in
+ * batches so contains searches see every row. Anywhere else the trigger is left out, or dropped if an earlier run
+ * installed it, and contains searches match the column alone.
+ */
+@Slf4j
+public class EmployeeTrigramIndex implements InitializingBean {
+    public static final String TRIGGER = "employees_trigrams";
+    private static final int BATCH_SIZE = 1000;
+    private static final String H2 = "H2";
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private boolean installed;
+
+    public EmployeeTrigramIndex(DataSource dataSource, boolean enabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.enabled = enabled;
+    }
+
+    // Whether the postings follow every write, so contains searches can narrow their candidates with them
+    public boolean isInstalled() {
+        return installed;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!H2.equals(database)) {
+            log.info("Contains searches scan the employees table, the trigram index needs H2 and runs on {}", database);
+            return;
+        }
+        Integer triggers = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.triggers where lower(trigger_name) = ?", Integer.class, TRIGGER);
+        boolean exists = triggers != null && triggers > 0;
+        if (!enabled) {
+            if (exists) {
+                // Writes stop paying for postings; enabling the index again rebuilds them from scratch
+                jdbcTemplate.execute("drop trigger " + TRIGGER);
+            }
+            return;
+        }
+        installed = true;
+        if (exists) {
+            return;
+        }
+        jdbcTemplate.execute("create trigger " + TRIGGER + " after insert, update, delete on employees for each row call \""
+                + EmployeeTrigramTrigger.class.getName() + "\"");
+        long start = System.nanoTime();
+        jdbcTemplate.update("delete from employee_trigrams");
+        List<Object[]> postings = new ArrayList<>(BATCH_SIZE);
+        long[] employees = new long[1];
+        jdbcTemplate.query("select id, name, lastname, email from employees", row -> {
+            employees[0]++;
+            for (String field : EmployeeTrigram.FIELDS) {
+                for (String trigram : EmployeeTrigram.of(row.getString(field))) {
+                    postings.add(new Object[]{row.getLong("id"), field, trigram});
+                }
+            }
+            if (postings.size() >= BATCH_SIZE) {
+                insert(postings);
+            }
+        });
+        insert(postings);
+        if (employees[0] > 0) {
+            log.info("Indexed the trigrams of {} employees in {} ms", employees[0], (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private void insert(List<Object[]> postings) {
+        if (!postings.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into employee_trigrams (employee_id, field, trigram) values (?, ?, ?)", postings);
+            postings.clear();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.unsa.testing.infrastructure;
+
+import com.unsa.testing.domain.entities.EmployeeTrigram;
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * H2 row trigger on employees that keeps employee_trigrams in step with the name, lastname and email columns.
+ * It fires inside the writing statement's transaction, so JPA saves, JDBC batches and bulk updates all roll back
+ * their postings together with the row. Updates only rewrite the fields whose value changed.
+ */
+public class EmployeeTrigramTrigger implements Trigger {
+    private final Map<String, Integer> columns = new HashMap<>();
+    private int id;
+
+    @Override
+    public void init(Connection connection, String schemaName, String triggerName, String tableName, boolean before, int type)
+            throws SQLException {
+        try (ResultSet metadata = connection.getMetaData().getColumns(null, schemaName, tableName, null)) {
+            while (metadata.next()) {
+                String column = metadata.getString("COLUMN_NAME").toLowerCase(Locale.ROOT);
+                int index = metadata.getInt("ORDINAL_POSITION") - 1;
+                if (column.equals("id")) {
+                    id = index;
+                } else if (EmployeeTrigram.FIELDS.contains(column)) {
+                    columns.put(column, index);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+        if (newRow == null) {
+            try (PreparedStatement delete = connection.prepareStatement("delete from employee_trigrams where employee_id = ?")) {
+                delete.setLong(1, ((Number) oldRow[id]).longValue());
+                delete.executeUpdate();
+            }
+            return;
+        }
+        long employeeId = ((Number) newRow[id]).longValue();
+        try (PreparedStatement delete = connection.prepareStatement(
+                "delete from employee_trigrams where employee_id = ? and field = ?");
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into employee_trigrams (employee_id, field, trigram) values (?, ?, ?)")) {
+            boolean deleted = false;
+            boolean inserted = false;
+            for (Map.Entry<String, Integer> column : columns.entrySet()) {
+                Object value = newRow[column.getValue()];
+                if (oldRow != null && Objects.equals(oldRow[column.getValue()], value)) {
+                    continue;
+                }
+                if (oldRow != null) {
+                    delete.setLong(1, employeeId);
+                    delete.setString(2, column.getKey());
+                    delete.addBatch();
+                    deleted = true;
+                }
+                for (String trigram : EmployeeTrigram.of((String) value)) {
+                    insert.setLong(1, employeeId);
+                    insert.setString(2, column.getKey());
+                    insert.setString(3, trigram);
+                    insert.addBatch();
+                    inserted = true;
+                }
+            }
+            if (deleted) {
+                delete.executeBatch();
+            }
+            if (inserted) {
+                insert.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.unsa.testing.infrastructure;
+
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeIngestion;
+import com.unsa.testing.application.dto.EmployeeSearchCriteria;
+import com.unsa.testing.application.dto.EmployeeSearchMatch;
+import com.unsa.testing.application.dto.EmployeeSortField;
+import com.unsa.testing.application.services.EmployeeBatchService;
+import com.unsa.testing.application.services.EmployeeIngestionService;
+import com.unsa.testing.application.services.EmployeeService;
+import com.unsa.testing.application.services.ReactiveEmployeeService;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.infrastructure.config.ReactiveConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@RestController
+@Profile(ReactiveConfig.PROFILE)
+@RequestMapping("/api/employee")
+public class ReactiveEmployeeController {
+    @Autowired
+    private ReactiveEmployeeService reactiveEmployeeService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeBatchService employeeBatchService;
+    @Autowired
+    private EmployeeIngestionService employeeIngestionService;
+    @Value("${employee.batch.size:500}")
+    private int batchSize;
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> saveEmployee(@RequestBody Employee employee) {
+        return reactiveEmployeeService.saveEmployee(employee);
+    }
+    @PostMapping(headers = EmployeeHttpSupport.PREFER_RESPOND_ASYNC)
+    public Mono<ResponseEntity<EmployeeIngestion>> ingestEmployee(@RequestBody Employee employee) {
+        // Submitting checks the email against the database through JPA
+        return Mono.fromCallable(() -> employeeIngestionService.submit(employee))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(EmployeeHttpSupport::accepted);
+    }
+    @GetMapping("/ingestions/{ticket}")
+    public Mono<ResponseEntity<EmployeeIngestion>> findIngestion(@PathVariable("ticket") String ticket) {
+        return Mono.justOrEmpty(employeeIngestionService.getIngestion(ticket))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<EmployeeImportReport> saveEmployees(@RequestBody Flux<Employee> employees) {
+        // The JPA import keeps its chunked dedupe; it pulls one chunk at a time from the request body off the event loop
+        return Mono.fromCallable(() -> employeeBatchService.importEmployees(employees.toIterable(batchSize).iterator()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+    @GetMapping
+    public Mono<ResponseEntity<CursorPage<Employee>>> listEmployees(@RequestParam(name = "after", required = false) Long after,
+                                                                    @RequestParam(name = "size", defaultValue = "50") int size) {
+        return reactiveEmployeeService.getEmployeesPage(after, size)
+                .map(page -> ResponseEntity.ok()
+                        .eTag(EmployeeHttpSupport.pageETag(page, Employee::getId, Employee::getVersion))
+                        .body(page));
+    }
+    @GetMapping("/search")
+    public Mono<ResponseEntity<CursorPage<EmployeeSummary>>> searchEmployees(@RequestParam(name = "name", required = false) String name,
+                                                                             @RequestParam(name = "lastname", required = false) String lastname,
+                                                                             @RequestParam(name = "email", required = false) String email,
+                                                                             @RequestParam(name = "match", defaultValue = "prefix") String match,
+                                                                             @RequestParam(name = "sort", defaultValue = "id") String sort,
+                                                                             @RequestParam(name = "direction", defaultValue = "asc") String direction,
+                                                                             @RequestParam(name = "after", required = false) String after,
+                                                                             @RequestParam(name = "size", defaultValue = "50") int size,
+                                                                             @RequestParam(name = "fields", required = false) String fields) {
+        EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder()
+                .name(name)
+                .lastname(lastname)
+                .email(email)
+                .match(EmployeeHttpSupport.option(EmployeeSearchMatch.class, "match", match))
+                .sort(EmployeeHttpSupport.option(EmployeeSortField.class, "sort", sort))
+                .direction(EmployeeHttpSupport.option(Sort.Direction.class, "direction", direction))
+                .fields(EmployeeHttpSupport.fields(fields))
+                .after(after)
+                .size(size)
+                .build();
+        // Search is built on JPA specifications, so it runs on the blocking scheduler
+        return Mono.fromCallable(() -> employeeService.searchEmployees(criteria))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(page -> ResponseEntity.ok()
+                        .eTag(EmployeeHttpSupport.pageETag(page, EmployeeSummary::getId, EmployeeSummary::getVersion))
+                        .body(page));
+    }
+    @GetMapping(params = "stream=true", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Employee> streamEmployees() {
+        return reactiveEmployeeService.streamEmployees();
+    }
+    @GetMapping("/{id:\\d+}")
+    public Mono<ResponseEntity<Employee>> findEmployeeById(@PathVariable("id") Long id, ServerWebExchange exchange) {
+        // Revalidation only needs the version column, not the whole row
+        if (exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH) != null) {
+            return reactiveEmployeeService.getEmployeeVersion(id)
+                    .flatMap(version -> {
+                        String eTag = EmployeeHttpSupport.eTag(version);
+                        if (exchange.checkNotModified(eTag)) {
+                            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<Employee>build());
+                        }
+                        return findVersioned(id);
+                    })
+                    .defaultIfEmpty(ResponseEntity.notFound().build());
+        }
+        return findVersioned(id)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    @PutMapping("/{id:\\d+}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable("id") Long id, @RequestBody Employee employee,
+                                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Employee changes = Employee.builder()
+                .id(id)
+                .name(employee.getName())
+                .lastname(employee.getLastname())
+                .email(employee.getEmail())
+                .build();
+        Mono<Employee> updatedEmployee = EmployeeHttpSupport.isConditional(ifMatch)
+                ? Mono.defer(() -> reactiveEmployeeService.updateEmployee(changes, EmployeeHttpSupport.parseVersion(ifMatch)))
+                : reactiveEmployeeService.updateEmployee(changes);
+        return updatedEmployee.map(EmployeeHttpSupport::versioned);
+    }
+    @DeleteMapping("/{id:\\d+}")
+    public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") Long id) {
+        return reactiveEmployeeService.deleteEmployee(id)
+                .map(deleted -> deleted
+                        ? new ResponseEntity<String>("Employee was deleted", HttpStatus.OK)
+                        : new ResponseEntity<String>("Employee was not found", HttpStatus.NOT_FOUND));
+    }
+    private Mono<ResponseEntity<Employee>> findVersioned(Long id) {
+        return reactiveEmployeeService.getEmployeeById(id)
+                .map(EmployeeHttpSupport::versioned);
+    }
+}
@@ -0,0 +1,12 @@
+package com.unsa.testing.infrastructure.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+// The cache advice runs outside the transactional one, so a cache hit never begins a transaction or borrows a connection
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+    public static final String EMPLOYEES = "employees";
+}
@@ -0,0 +1,36 @@
+package com.unsa.testing.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class ConnectionPoolConfig {
+    public static final String CONNECTIONS_PER_CORE = "employee.pool.connections-per-core";
+    public static final String RESERVED_CORES = "employee.pool.reserved-cores";
+
+    // Runs after the spring.datasource.hikari properties are bound and before the pool opens its first connection,
+    // so a size derived from the cores of the host replaces any fixed maximum-pool-size
+    @Bean
+    @ConditionalOnProperty(CONNECTIONS_PER_CORE)
+    public static BeanPostProcessor connectionPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setMaximumPoolSize(poolSize(Runtime.getRuntime().availableProcessors(),
+                            environment.getRequiredProperty(CONNECTIONS_PER_CORE, Double.class),
+                            environment.getProperty(RESERVED_CORES, Integer.class, 0)));
+                }
+                return bean;
+            }
+        };
+    }
+
+    public static int poolSize(int cores, double connectionsPerCore, int reservedCores) {
+        return Math.max((int) Math.round(Math.max(cores - reservedCores, 1) * connectionsPerCore), 1);
+    }
+}
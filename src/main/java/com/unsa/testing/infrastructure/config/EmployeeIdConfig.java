@@ -0,0 +1,26 @@
+package com.unsa.testing.infrastructure.config;
+
+import com.unsa.testing.domain.entities.EmployeeIdGenerator;
+import com.unsa.testing.infrastructure.EmployeeSequenceMigration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class EmployeeIdConfig {
+    // The migration has to finish before the entity manager factory configures the id generator
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor employeeSequenceMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("employeeSequenceMigration");
+    }
+
+    @Bean
+    public EmployeeSequenceMigration employeeSequenceMigration(
+            DataSource dataSource,
+            @Value("${" + EmployeeIdGenerator.ALLOCATION_SIZE + ":" + EmployeeIdGenerator.DEFAULT_ALLOCATION_SIZE + "}") int allocationSize) {
+        return new EmployeeSequenceMigration(dataSource, allocationSize);
+    }
+}
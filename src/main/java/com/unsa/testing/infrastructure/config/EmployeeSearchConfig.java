@@ -0,0 +1,19 @@
+package com.unsa.testing.infrastructure.config;
+
+import com.unsa.testing.infrastructure.EmployeeTrigramIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class EmployeeSearchConfig {
+    // Taking the entity manager factory orders the trigger after Hibernate has created both tables
+    @Bean
+    public EmployeeTrigramIndex employeeTrigramIndex(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                                                     @Value("${employee.search.trigram-index:true}") boolean enabled) {
+        return new EmployeeTrigramIndex(dataSource, enabled);
+    }
+}
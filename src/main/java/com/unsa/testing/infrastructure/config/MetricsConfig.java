@@ -0,0 +1,22 @@
+package com.unsa.testing.infrastructure.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+    public static final String EMPLOYEE_SERVICE = "employee.service";
+    public static final String EMPLOYEE_ERRORS = "employee.errors";
+    public static final String EMPLOYEE_INGESTION_QUEUE = "employee.ingestion.queue";
+    public static final String EMPLOYEE_EMAIL_FILTER = "employee.email.filter";
+    public static final String EMPLOYEE_RATE_LIMIT = "employee.rate.limit";
+    public static final String EMPLOYEE_CHANGES = "employee.changes";
+    public static final String EMPLOYEE_OFFHEAP = "employee.offheap";
+    public static final String EMPLOYEE_COALESCING = "employee.coalescing";
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package com.unsa.testing.infrastructure.config;
+
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.dto.EmployeeIngestion;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeChange;
+import com.unsa.testing.domain.entities.EmployeeIdGenerator;
+import com.unsa.testing.domain.entities.EmployeeRow;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.infrastructure.EmployeeTrigramTrigger;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+@Configuration
+@ImportRuntimeHints(NativeConfig.EmployeeRuntimeHints.class)
+// Payloads written outside controller signatures, like streamed summaries and queued ingestions, are bound here
+@RegisterReflectionForBinding({Employee.class, EmployeeChange.class, EmployeeRow.class, EmployeeSummary.class,
+        CursorPage.class, EmployeeImportReport.class, EmployeeImportResult.class, EmployeeIngestion.class})
+public class NativeConfig {
+    public static class EmployeeRuntimeHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // JPQL constructor expressions instantiate the summary reflectively
+            hints.reflection().registerType(EmployeeSummary.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            // Hibernate instantiates the generator named by @EmployeeSequence reflectively
+            hints.reflection().registerType(EmployeeIdGenerator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            // H2 instantiates the trigger class named in its CREATE TRIGGER statement
+            hints.reflection().registerType(EmployeeTrigramTrigger.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.unsa.testing.infrastructure.config;
+
+import com.unsa.testing.domain.repositories.OffHeapEmployeeStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@Profile(OffHeapConfig.PROFILE)
+public class OffHeapConfig {
+    public static final String PROFILE = "offheap";
+    // Closing writes the compacted snapshot, so a restart maps it instead of replaying the log
+    @Bean(destroyMethod = "close")
+    public OffHeapEmployeeStore offHeapEmployeeStore(@Value("${employee.offheap.directory}") Path directory,
+                                                     @Value("${employee.offheap.segment-size:64MB}") DataSize segmentSize,
+                                                     @Value("${employee.offheap.expected-employees:1000000}") int expectedEmployees,
+                                                     @Value("${employee.offheap.log-limit:256MB}") DataSize logLimit,
+                                                     MeterRegistry meterRegistry) throws IOException {
+        OffHeapEmployeeStore store = new OffHeapEmployeeStore(directory, Math.toIntExact(segmentSize.toBytes()),
+                expectedEmployees, logLimit.toBytes());
+        meterRegistry.gauge(MetricsConfig.EMPLOYEE_OFFHEAP + ".employees", store, OffHeapEmployeeStore::count);
+        meterRegistry.gauge(MetricsConfig.EMPLOYEE_OFFHEAP + ".bytes", store, OffHeapEmployeeStore::offHeapBytes);
+        meterRegistry.gauge(MetricsConfig.EMPLOYEE_OFFHEAP + ".garbage.bytes", store, OffHeapEmployeeStore::garbageBytes);
+        return store;
+    }
+}
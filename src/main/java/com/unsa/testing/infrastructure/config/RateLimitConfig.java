@@ -0,0 +1,30 @@
+package com.unsa.testing.infrastructure.config;
+
+import com.unsa.testing.infrastructure.EmployeeRateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!" + ReactiveConfig.PROFILE)
+public class RateLimitConfig {
+    @Bean
+    @ConfigurationProperties("employee.rate-limit")
+    public RateLimitProperties rateLimitProperties() {
+        return new RateLimitProperties();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employee.rate-limit.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<EmployeeRateLimitFilter> employeeRateLimitFilter(RateLimitProperties rateLimitProperties,
+                                                                                  MeterRegistry meterRegistry) {
+        FilterRegistrationBean<EmployeeRateLimitFilter> registration =
+                new FilterRegistrationBean<>(new EmployeeRateLimitFilter(rateLimitProperties, meterRegistry));
+        registration.addUrlPatterns("/api/employee/*");
+        return registration;
+    }
+}
@@ -0,0 +1,30 @@
+package com.unsa.testing.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter @Setter
+public class RateLimitProperties {
+    public static final String LIST = "list";
+    public static final String READ = "read";
+    public static final String WRITE = "write";
+    public static final String CHANGES = "changes";
+    private boolean enabled = true;
+    // Idle client buckets are dropped after this long, which refills them completely anyway
+    private Duration clientIdle = Duration.ofMinutes(10);
+    private int maxClients = 100_000;
+    private Map<String, Budget> budgets = new HashMap<>();
+
+    @Getter @Setter
+    public static class Budget {
+        // Requests of this budget running at once, across every client
+        private int concurrency = Integer.MAX_VALUE;
+        // Sustained requests per second and the burst allowed on top of it, per client
+        private double requestsPerSecond = Double.POSITIVE_INFINITY;
+        private int burst = 1;
+    }
+}
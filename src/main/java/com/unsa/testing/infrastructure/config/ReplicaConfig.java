@@ -0,0 +1,71 @@
+package com.unsa.testing.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+
+@Configuration
+@Profile(ReplicaConfig.PROFILE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReplicaConfig {
+    public static final String PROFILE = "replica";
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConfigurationProperties("employee.replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        return new HikariDataSource();
+    }
+
+    // The physical connection is fetched on the first statement, after the transaction marked it read-only,
+    // so read-only transactions borrow from the replica pool and every other one from the primary
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    // Local stand-in for replication: the replica H2 instance reads the primary's tables through read-only links,
+    // created once Hibernate has generated the schema on the primary
+    @Bean
+    @ConditionalOnProperty("employee.replica.link-primary")
+    public InitializingBean replicaTableLink(EntityManagerFactory entityManagerFactory,
+                                            DataSourceProperties dataSourceProperties,
+                                            @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return () -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replicaDataSource);
+            // Contains searches read the trigram postings next to the table they index
+            for (String table : List.of("employees", "employee_trigrams")) {
+                jdbcTemplate.execute(String.format(
+                        "create linked table if not exists %s('%s', '%s', '%s', '%s', '%s') readonly", table,
+                        dataSourceProperties.determineDriverClassName(), dataSourceProperties.determineUrl(),
+                        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(),
+                        table.toUpperCase(Locale.ROOT)));
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package com.unsa.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.unsa.testing.infrastructure.config.ConnectionPoolConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+class ConnectionPoolConfigTests {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(ConnectionPoolConfig.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:pool", "spring.datasource.hikari.maximum-pool-size=50");
+    @Test
+    @DisplayName("Derive Pool Size from Available Cores")
+    void derivePoolSizeTest() {
+        // When: Configure connections per core on top of a fixed pool size
+        contextRunner.withPropertyValues("employee.pool.connections-per-core=2").run(context -> {
+            HikariDataSource dataSource = context.getBean(HikariDataSource.class);
+            dataSource.getConnection().close();
+            // Then: Check the core-derived size replaces the fixed one and, without minimum-idle, the pool stays fixed
+            assertThat(dataSource.getMaximumPoolSize()).isEqualTo(2 * Runtime.getRuntime().availableProcessors());
+            assertThat(dataSource.getMinimumIdle()).isEqualTo(dataSource.getMaximumPoolSize());
+        });
+    }
+    @Test
+    @DisplayName("Keep Fixed Pool Size Without Connections per Core")
+    void keepFixedPoolSizeTest() {
+        // Then: Check the configured size is left alone
+        contextRunner.run(context -> assertThat(context.getBean(HikariDataSource.class).getMaximumPoolSize()).isEqualTo(50));
+    }
+    @Test
+    @DisplayName("Reserve Cores Without Dropping Below One Connection")
+    void reserveCoresTest() {
+        // Then: Check reserved cores shrink the pool but never empty it
+        assertThat(ConnectionPoolConfig.poolSize(16, 1, 1)).isEqualTo(15);
+        assertThat(ConnectionPoolConfig.poolSize(1, 1, 1)).isEqualTo(1);
+        assertThat(ConnectionPoolConfig.poolSize(4, 2.5, 0)).isEqualTo(10);
+    }
+}
@@ -0,0 +1,48 @@
+package com.unsa.testing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeIdGenerator;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.infrastructure.config.NativeConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.annotation.ReflectiveRuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class NativeHintsTests {
+    private RuntimeHints hints;
+    @BeforeEach
+    void setup() {
+        hints = new RuntimeHints();
+        new NativeConfig.EmployeeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        new ReflectiveRuntimeHintsRegistrar().registerRuntimeHints(hints, NativeConfig.class);
+    }
+    @Test
+    @DisplayName("Register Summary Constructor for JPQL Projections")
+    void registerSummaryConstructorTest() {
+        // Then: Check the constructor used by the select new expressions is reachable
+        assertThat(RuntimeHintsPredicates.reflection().onType(EmployeeSummary.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+    }
+    @Test
+    @DisplayName("Register Id Generator Constructor for Employee Sequence")
+    void registerIdGeneratorConstructorTest() {
+        // Then: Check Hibernate can instantiate the configurable sequence generator
+        assertThat(RuntimeHintsPredicates.reflection().onType(EmployeeIdGenerator.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+    }
+    @Test
+    @DisplayName("Register Payloads for Jackson Binding")
+    void registerPayloadBindingTest() throws NoSuchMethodException {
+        // Then: Check streamed and paged payloads can be read and written
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(EmployeeSummary.class.getMethod("getEmail"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Employee.class.getMethod("setEmail", String.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(CursorPage.class.getMethod("getNext"))).accepts(hints);
+    }
+}
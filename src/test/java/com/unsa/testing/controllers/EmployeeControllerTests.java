@@ -1,37 +1,107 @@
 package com.unsa.testing.controllers;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.hamcrest.CoreMatchers.is;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeExportFormat;
+import com.unsa.testing.application.dto.EmployeeField;
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.dto.EmployeeImportStatus;
+import com.unsa.testing.application.dto.EmployeeIngestion;
+import com.unsa.testing.application.dto.EmployeeIngestionStatus;
+import com.unsa.testing.application.dto.EmployeeSearchCriteria;
+import com.unsa.testing.application.dto.EmployeeSearchMatch;
+import com.unsa.testing.application.dto.EmployeeSortField;
+import com.unsa.testing.application.services.EmployeeBatchService;
+import com.unsa.testing.application.services.EmployeeChangeService;
+import com.unsa.testing.application.services.EmployeeChangeSubscriber;
+import com.unsa.testing.application.services.EmployeeExportService;
+import com.unsa.testing.application.services.EmployeeIngestionService;
 import com.unsa.testing.application.services.EmployeeService;
 import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeChange;
+import com.unsa.testing.domain.entities.EmployeeChangeType;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.domain.exceptions.EmployeeIsSavedException;
+import com.unsa.testing.domain.exceptions.EmployeeVersionMismatchException;
+import com.unsa.testing.domain.exceptions.IngestionQueueFullException;
+import com.unsa.testing.domain.exceptions.ResourceNotFoundException;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import com.unsa.testing.infrastructure.config.SerializationConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @WebMvcTest
+@Import(SerializationConfig.class)
 public class EmployeeControllerTests {
+    @TestConfiguration
+    static class MetricsTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
     @Autowired
     private MockMvc mockMvc;
     @MockBean
     private EmployeeService employeeService;
+    @MockBean
+    private EmployeeBatchService employeeBatchService;
+    @MockBean
+    private EmployeeIngestionService employeeIngestionService;
+    @MockBean
+    private EmployeeExportService employeeExportService;
+    @MockBean
+    private EmployeeChangeService employeeChangeService;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
     @Test
     @DisplayName("Save Employee from Rest Controller")
     void saveEmployeeTest() throws Exception {
@@ -57,21 +127,413 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$.email", is(employee.getEmail())));
     }
     @Test
+    @DisplayName("Save Duplicated Employee from Rest Controller")
+    void saveDuplicatedEmployeeTest() throws Exception {
+        // Given: Employee whose email is already recorded
+        Employee employee = Employee.builder()
+                .name("Angel")
+                .lastname("Hincho")
+                .email("ahincho@unsa.edu.pe")
+                .build();
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willThrow(new EmployeeIsSavedException("The employee is already saved: " + employee.getEmail()));
+        // When: Try to save employee using rest controller
+        ResultActions response = mockMvc.perform(post("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+        // Then: Check the conflict response and the error counter
+        response.andDo(print())
+                .andExpect(status().isConflict());
+        assertThat(meterRegistry.get(MetricsConfig.EMPLOYEE_ERRORS)
+                .tag("exception", "EmployeeIsSavedException")
+                .counter()
+                .count()).isGreaterThanOrEqualTo(1.0);
+    }
+    @Test
+    @DisplayName("Save Employees Batch from Rest Controller")
+    void saveEmployeesBatchTest() throws Exception {
+        // Given: A JSON array of employees and a batch service that records every row
+        List<Employee> employees = List.of(
+                Employee.builder().name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build(),
+                Employee.builder().name("Eduardo").lastname("Jove").email("ahincho@unsa.edu.pe").build());
+        given(employeeBatchService.importEmployees(any())).willAnswer(invocationOnMock -> importReport(invocationOnMock.getArgument(0)));
+        // When: Post the array to the batch endpoint
+        ResultActions response = mockMvc.perform(post("/api/employee/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees)));
+        // Then: Check every row was read and reported
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.total", is(2)))
+                .andExpect(jsonPath("$.results[1].email", is("ahincho@unsa.edu.pe")));
+    }
+    @Test
+    @DisplayName("Save Employees NDJSON Batch from Rest Controller")
+    void saveEmployeesNdjsonBatchTest() throws Exception {
+        // Given: One employee per line and a batch service that records every row
+        String body = objectMapper.writeValueAsString(Employee.builder().name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build())
+                + "\n" + objectMapper.writeValueAsString(Employee.builder().name("Fabiola").lastname("Tapara").email("ftapara@unsa.edu.pe").build())
+                + "\n" + objectMapper.writeValueAsString(Employee.builder().name("Grissel").lastname("Quispe").email("gquispe@unsa.edu.pe").build());
+        given(employeeBatchService.importEmployees(any())).willAnswer(invocationOnMock -> importReport(invocationOnMock.getArgument(0)));
+        // When: Post the lines to the batch endpoint
+        ResultActions response = mockMvc.perform(post("/api/employee/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body));
+        // Then: Check every line was read and reported
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.results[2].email", is("gquispe@unsa.edu.pe")));
+    }
+    private EmployeeImportReport importReport(Iterator<Employee> employees) {
+        List<EmployeeImportResult> results = new ArrayList<>();
+        employees.forEachRemaining(employee -> results.add(EmployeeImportResult.builder()
+                .index(results.size())
+                .status(EmployeeImportStatus.CREATED)
+                .email(employee.getEmail())
+                .build()));
+        return EmployeeImportReport.builder()
+                .total(results.size())
+                .created(results.size())
+                .results(results)
+                .build();
+    }
+    @Test
+    @DisplayName("Queue Employee Asynchronously from Rest Controller")
+    void ingestEmployeeTest() throws Exception {
+        // Given: Ingestion queue with room for the employee
+        Employee employee = Employee.builder()
+                .name("Angel")
+                .lastname("Hincho")
+                .email("ahincho@unsa.edu.pe")
+                .build();
+        given(employeeIngestionService.submit(any(Employee.class))).willReturn(EmployeeIngestion.builder()
+                .ticket("a1b2")
+                .status(EmployeeIngestionStatus.QUEUED)
+                .email(employee.getEmail())
+                .build());
+        // When: Post the employee asking for an asynchronous response
+        ResultActions response = mockMvc.perform(post("/api/employee")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+        // Then: Check it was accepted with a handle to poll
+        response.andExpect(status().isAccepted())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/employee/ingestions/a1b2"))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+        verify(employeeService, never()).saveEmployee(any(Employee.class));
+    }
+    @Test
+    @DisplayName("Reject Employee when Ingestion Queue is Full from Rest Controller")
+    void ingestEmployeeQueueFullTest() throws Exception {
+        // Given: Ingestion queue without room
+        given(employeeIngestionService.submit(any(Employee.class))).willThrow(new IngestionQueueFullException("The ingestion queue is full"));
+        // When: Post the employee asking for an asynchronous response
+        ResultActions response = mockMvc.perform(post("/api/employee")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Angel\",\"lastname\":\"Hincho\",\"email\":\"ahincho@unsa.edu.pe\"}"));
+        // Then: Check the client is told to back off
+        response.andExpect(status().isTooManyRequests())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+    @Test
+    @DisplayName("Poll Ingestion Status from Rest Controller")
+    void findIngestionTest() throws Exception {
+        // Given: One ingestion written and no other known ticket
+        given(employeeIngestionService.getIngestion("a1b2")).willReturn(Optional.of(EmployeeIngestion.builder()
+                .ticket("a1b2")
+                .status(EmployeeIngestionStatus.CREATED)
+                .id(7L)
+                .email("ahincho@unsa.edu.pe")
+                .build()));
+        given(employeeIngestionService.getIngestion("c3d4")).willReturn(Optional.empty());
+        // When: Poll both tickets
+        // Then: Check the written employee id and the unknown ticket
+        mockMvc.perform(get("/api/employee/ingestions/{ticket}", "a1b2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("CREATED")))
+                .andExpect(jsonPath("$.id", is(7)));
+        mockMvc.perform(get("/api/employee/ingestions/{ticket}", "c3d4"))
+                .andExpect(status().isNotFound());
+    }
+    @Test
     @DisplayName("Get All Employees from Rest Controller")
     void getAllEmployeesTest() throws Exception {
         // Given: Some employees saved on Database
-        List<Employee> employees = new ArrayList<>();
-        employees.add(Employee.builder().name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build());
-        employees.add(Employee.builder().name("Eduardo").lastname("Jove").email("ahincho@gmail.com").build());
-        employees.add(Employee.builder().name("Fabiola").lastname("Tapara").email("ftapara@unsa.edu.pe").build());
-        employees.add(Employee.builder().name("Grissel").lastname("Quispe").email("ftapara@gmail.com").build());
-        given(employeeService.getAllEmployees()).willReturn(employees);
-        // When: Recover all employees from rest controller
+        List<EmployeeSummary> employees = new ArrayList<>();
+        employees.add(EmployeeSummary.builder().name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build());
+        employees.add(EmployeeSummary.builder().name("Eduardo").lastname("Jove").email("ahincho@gmail.com").build());
+        employees.add(EmployeeSummary.builder().name("Fabiola").lastname("Tapara").email("ftapara@unsa.edu.pe").build());
+        employees.add(EmployeeSummary.builder().name("Grissel").lastname("Quispe").email("ftapara@gmail.com").build());
+        given(employeeService.getEmployeesPage(null, 50, EnumSet.allOf(EmployeeField.class)))
+                .willReturn(CursorPage.<EmployeeSummary>builder().content(employees).build());
+        // When: Recover the first page of employees from rest controller
         ResultActions response = mockMvc.perform(get("/api/employee"));
-        // Then: Verify the list of employees
+        // Then: Verify the page of employees
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(employees.size())))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+    @Test
+    @DisplayName("Search Employees from Rest Controller")
+    void searchEmployeesTest() throws Exception {
+        // Given: Employees matching the search
+        List<EmployeeSummary> employees = List.of(
+                EmployeeSummary.builder().id(1L).name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").version(0L).build(),
+                EmployeeSummary.builder().id(2L).name("Angela").lastname("Quispe").email("aquispe@unsa.edu.pe").version(0L).build());
+        given(employeeService.searchEmployees(any(EmployeeSearchCriteria.class)))
+                .willReturn(CursorPage.<EmployeeSummary>builder().content(employees).next("QW5nZWxhCjI").build());
+        // When: Search employees by name prefix sorted by lastname
+        ResultActions response = mockMvc.perform(get("/api/employee/search")
+                .param("name", "Ang")
+                .param("match", "Prefix")
+                .param("sort", "lastname")
+                .param("direction", "desc")
+                .param("size", "2"));
+        // Then: Verify the page and the criteria handed to the service
         response.andExpect(status().isOk())
                 .andDo(print())
-                .andExpect(jsonPath("$.size()", is(employees.size())));
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.content.size()", is(2)))
+                .andExpect(jsonPath("$.next", is("QW5nZWxhCjI")));
+        ArgumentCaptor<EmployeeSearchCriteria> criteria = ArgumentCaptor.forClass(EmployeeSearchCriteria.class);
+        verify(employeeService).searchEmployees(criteria.capture());
+        assertThat(criteria.getValue().getName()).isEqualTo("Ang");
+        assertThat(criteria.getValue().getMatch()).isEqualTo(EmployeeSearchMatch.PREFIX);
+        assertThat(criteria.getValue().getSort()).isEqualTo(EmployeeSortField.LASTNAME);
+        assertThat(criteria.getValue().getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(criteria.getValue().getSize()).isEqualTo(2);
+    }
+    @Test
+    @DisplayName("Search Employees with Unknown Sort from Rest Controller")
+    void searchEmployeesUnknownSortTest() throws Exception {
+        // When: Search employees sorted by a field that is not indexed
+        ResultActions response = mockMvc.perform(get("/api/employee/search")
+                .param("name", "Ang")
+                .param("sort", "salary"));
+        // Then: Verify the request is rejected before reaching the service
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeService, never()).searchEmployees(any(EmployeeSearchCriteria.class));
+    }
+    @Test
+    @DisplayName("Get Employees Page After Cursor from Rest Controller")
+    void getEmployeesPageTest() throws Exception {
+        // Given: A full page of employees after the cursor
+        List<EmployeeSummary> employees = new ArrayList<>();
+        employees.add(EmployeeSummary.builder().id(11L).name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build());
+        employees.add(EmployeeSummary.builder().id(12L).name("Eduardo").lastname("Jove").email("ahincho@gmail.com").build());
+        given(employeeService.getEmployeesPage(10L, 2, EnumSet.allOf(EmployeeField.class)))
+                .willReturn(CursorPage.<EmployeeSummary>builder().content(employees).next("12").build());
+        // When: Recover the page from rest controller
+        ResultActions response = mockMvc.perform(get("/api/employee")
+                .param("after", "10")
+                .param("size", "2"));
+        // Then: Verify the page and the next cursor
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content[0].id", is(11)))
+                .andExpect(jsonPath("$.next", is("12")));
+    }
+    @Test
+    @DisplayName("Get Employees Page with Selected Fields from Rest Controller")
+    void getEmployeesPageWithFieldsTest() throws Exception {
+        // Given: A page of employees read with only the selected columns
+        List<EmployeeSummary> employees = List.of(EmployeeSummary.builder().id(11L).email("ahincho@unsa.edu.pe").version(0L).build());
+        given(employeeService.getEmployeesPage(null, 50, EnumSet.of(EmployeeField.EMAIL, EmployeeField.UPDATED_AT)))
+                .willReturn(CursorPage.<EmployeeSummary>builder().content(employees).build());
+        // When: Recover the page asking for the email and the update time
+        ResultActions response = mockMvc.perform(get("/api/employee")
+                .param("fields", "email,updatedAt"));
+        // Then: Verify the columns that were not read are left out of the body
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content[0].email", is("ahincho@unsa.edu.pe")))
+                .andExpect(jsonPath("$.content[0].name").doesNotExist());
+    }
+    @Test
+    @DisplayName("Get Employees Page with Unknown Field from Rest Controller")
+    void getEmployeesPageUnknownFieldTest() throws Exception {
+        // When: Recover the page asking for a field employees do not have
+        ResultActions response = mockMvc.perform(get("/api/employee")
+                .param("fields", "email,salary"));
+        // Then: Verify the request is rejected before reaching the service
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeService, never()).getEmployeesPage(any(), anyInt(), any());
+    }
+    @Test
+    @DisplayName("Stream All Employees from Rest Controller")
+    void streamEmployeesTest() throws Exception {
+        // Given: Some employees saved on Database
+        List<EmployeeSummary> employees = new ArrayList<>();
+        employees.add(EmployeeSummary.builder().name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build());
+        employees.add(EmployeeSummary.builder().name("Fabiola").lastname("Tapara").email("ftapara@unsa.edu.pe").build());
+        willAnswer(invocationOnMock -> {
+            Consumer<EmployeeSummary> consumer = invocationOnMock.getArgument(0);
+            employees.forEach(consumer);
+            return null;
+        }).given(employeeService).streamEmployees(any());
+        // When: Stream all employees from rest controller
+        MvcResult result = mockMvc.perform(get("/api/employee").param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Then: Verify the streamed array of employees
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(employees.size())))
+                .andExpect(jsonPath("$[1].email", is("ftapara@unsa.edu.pe")));
+    }
+    @Test
+    @DisplayName("Export Employees as CSV from Rest Controller")
+    void exportEmployeesTest() throws Exception {
+        // Given: An export service that writes one row after the checkpoint
+        String csv = "id,name,lastname,email,version,updated_at\n8,Angel,Hincho,ahincho@unsa.edu.pe,0,\n";
+        given(employeeExportService.exportEmployees(eq(EmployeeExportFormat.CSV), eq(7L), any(WritableByteChannel.class)))
+                .willAnswer(invocationOnMock -> {
+                    WritableByteChannel channel = invocationOnMock.getArgument(2);
+                    channel.write(ByteBuffer.wrap(csv.getBytes(StandardCharsets.UTF_8)));
+                    return 8L;
+                });
+        // When: Export the employees after the checkpoint
+        MvcResult result = mockMvc.perform(get("/api/employee/export").param("format", "csv").param("after", "7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Then: Check the file is streamed as a CSV attachment without the 30 second default timeout
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofHours(6).toMillis());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\""))
+                .andExpect(content().string(csv));
+    }
+    @Test
+    @DisplayName("Import Employees from Columnar File from Rest Controller")
+    void importEmployeesTest() throws Exception {
+        // Given: An export service that reads the whole body
+        given(employeeExportService.importEmployees(eq(EmployeeExportFormat.COLUMNAR), any(ReadableByteChannel.class)))
+                .willAnswer(invocationOnMock -> {
+                    ReadableByteChannel channel = invocationOnMock.getArgument(1);
+                    int total = 0;
+                    for (int read = 0; read >= 0; read = channel.read(ByteBuffer.allocate(16))) {
+                        total += read;
+                    }
+                    return EmployeeImportReport.builder().total(total).results(List.of()).build();
+                });
+        // When: Post a columnar file to the import endpoint
+        ResultActions response = mockMvc.perform(post("/api/employee/import")
+                .contentType("application/x-employee-columnar")
+                .content(new byte[]{'E', 'M', 'P', 'C', 1}));
+        // Then: Check the body was handed to the columnar import
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(5)));
+    }
+    @Test
+    @DisplayName("Stream Employee Changes from Last Event Id from Rest Controller")
+    void streamChangesTest() throws Exception {
+        // Given: A change service that publishes one change after the offset and then completes
+        EmployeeChange change = EmployeeChange.builder()
+                .id(8L)
+                .type(EmployeeChangeType.UPDATED)
+                .employeeId(3L)
+                .email("ahincho@unsa.edu.pe")
+                .version(2L)
+                .build();
+        willAnswer(invocationOnMock -> {
+            EmployeeChangeSubscriber subscriber = invocationOnMock.getArgument(1);
+            subscriber.onChange(change);
+            subscriber.onComplete();
+            return null;
+        }).given(employeeChangeService).subscribe(eq(7L), any(EmployeeChangeSubscriber.class));
+        // When: Reconnect to the change stream with the last event id received
+        MvcResult result = mockMvc.perform(get("/api/employee/changes")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "7"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Then: Check the change is sent as an event named by its type and identified by its offset
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).startsWith("id:8\nevent:updated\ndata:{");
+        assertThat(body).contains("\"employeeId\":3", "\"version\":2");
+    }
+    @Test
+    @DisplayName("Stream All Employees as NDJSON from Rest Controller")
+    void streamEmployeesNdjsonTest() throws Exception {
+        // Given: Some employees saved on Database
+        List<EmployeeSummary> employees = new ArrayList<>();
+        employees.add(EmployeeSummary.builder().name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build());
+        employees.add(EmployeeSummary.builder().name("Fabiola").lastname("Tapara").email("ftapara@unsa.edu.pe").build());
+        willAnswer(invocationOnMock -> {
+            Consumer<EmployeeSummary> consumer = invocationOnMock.getArgument(0);
+            employees.forEach(consumer);
+            return null;
+        }).given(employeeService).streamEmployees(any());
+        // When: Stream all employees asking for NDJSON
+        MvcResult result = mockMvc.perform(get("/api/employee").param("stream", "true")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Then: Verify one employee per line
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        List<Employee> lines = objectMapper.readerFor(Employee.class).<Employee>readValues(body).readAll();
+        assertThat(body.split("\n")).hasSize(employees.size());
+        assertThat(lines).extracting(Employee::getEmail).containsExactly("ahincho@unsa.edu.pe", "ftapara@unsa.edu.pe");
+    }
+    @Test
+    @DisplayName("Get Employee By Id as Smile from Rest Controller")
+    void getEmployeeByIdSmileTest() throws Exception {
+        // Given: Saved employee on Database
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .name("Angel")
+                .lastname("Hincho")
+                .email("ahincho@unsa.edu.pe")
+                .version(0L)
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+        // When: Look for the saved employee asking for Smile
+        byte[] body = mockMvc.perform(get("/api/employee/{id}", employeeId)
+                        .accept(SerializationConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SerializationConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        // Then: Check the binary payload decodes to the same employee
+        Employee decoded = Jackson2ObjectMapperBuilder.smile().build().readValue(body, Employee.class);
+        assertThat(decoded.getEmail()).isEqualTo(employee.getEmail());
+        assertThat(body.length).isLessThan(objectMapper.writeValueAsBytes(employee).length);
+    }
+    @Test
+    @DisplayName("Get Employees Page as CBOR from Rest Controller")
+    void getEmployeesPageCborTest() throws Exception {
+        // Given: Some employees saved on Database
+        List<EmployeeSummary> employees = List.of(
+                EmployeeSummary.builder().id(1L).name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").version(0L).build(),
+                EmployeeSummary.builder().id(2L).name("Eduardo").lastname("Jove").email("ahincho@gmail.com").version(0L).build());
+        given(employeeService.getEmployeesPage(null, 50, EnumSet.allOf(EmployeeField.class)))
+                .willReturn(CursorPage.<EmployeeSummary>builder().content(employees).build());
+        // When: Recover the first page asking for CBOR
+        byte[] body = mockMvc.perform(get("/api/employee")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getContentAsByteArray();
+        // Then: Check the binary page decodes with every employee
+        JsonNode page = Jackson2ObjectMapperBuilder.cbor().build().readTree(body);
+        assertThat(page.get("content")).hasSize(2);
+        assertThat(page.get("content").get(1).get("email").asText()).isEqualTo("ahincho@gmail.com");
     }
     @Test
     @DisplayName("Get Employee By Id from Rest Controller")
@@ -111,6 +573,154 @@ public class EmployeeControllerTests {
                 .andDo(print());
     }
     @Test
+    @DisplayName("Get Employee By Id with Validators from Rest Controller")
+    void getEmployeeByIdValidatorsTest() throws Exception {
+        // Given: Saved employee on Database at version 3
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .name("Angel")
+                .lastname("Hincho")
+                .email("ahincho@unsa.edu.pe")
+                .version(3L)
+                .updatedAt(Instant.parse("2024-06-01T10:15:30Z"))
+                .build();
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+        // When: Look for the saved employee
+        ResultActions response = mockMvc.perform(get("/api/employee/{id}", employeeId));
+        // Then: Check the strong ETag and Last-Modified validators
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, "Sat, 01 Jun 2024 10:15:30 GMT"));
+    }
+    @Test
+    @DisplayName("Get Not Modified Employee By Id from Rest Controller")
+    void getNotModifiedEmployeeByIdTest() throws Exception {
+        // Given: Saved employee still at the version known by the client
+        long employeeId = 1L;
+        given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(3L));
+        // When: Revalidate the employee with its ETag
+        ResultActions response = mockMvc.perform(get("/api/employee/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+        // Then: Check the 304 was answered without loading the entity
+        response.andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(content().string(""));
+        verify(employeeService, never()).getEmployeeById(employeeId);
+    }
+    @Test
+    @DisplayName("Get Modified Employee By Id from Rest Controller")
+    void getModifiedEmployeeByIdTest() throws Exception {
+        // Given: Saved employee updated after the version known by the client
+        long employeeId = 1L;
+        Employee employee = Employee.builder()
+                .id(employeeId)
+                .name("Angel")
+                .lastname("Hincho")
+                .email("ahincho@unsa.edu.pe")
+                .version(4L)
+                .build();
+        given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(4L));
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
+        // When: Revalidate the employee with an old ETag
+        ResultActions response = mockMvc.perform(get("/api/employee/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+        // Then: Check the current representation is returned
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version", is(4)));
+    }
+    @Test
+    @DisplayName("Get Not Modified Employees Page from Rest Controller")
+    void getNotModifiedEmployeesPageTest() throws Exception {
+        // Given: A page of employees already known by the client
+        List<EmployeeSummary> employees = List.of(EmployeeSummary.builder().id(1L).name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").version(0L).build());
+        given(employeeService.getEmployeesPage(null, 50, EnumSet.allOf(EmployeeField.class)))
+                .willReturn(CursorPage.<EmployeeSummary>builder().content(employees).build());
+        String eTag = mockMvc.perform(get("/api/employee"))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        // When: Revalidate the page with its ETag
+        ResultActions response = mockMvc.perform(get("/api/employee")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag));
+        // Then: Check the page body was not written
+        response.andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(content().string(""));
+    }
+    @Test
+    @DisplayName("Update Employee with If-Match from Rest Controller")
+    void updateEmployeeIfMatchTest() throws Exception {
+        // Given: Saved employee at the version known by the client
+        long employeeId = 1L;
+        Employee updatedEmployee = Employee.builder()
+                .name("Eduardo")
+                .lastname("Jove")
+                .email("angelhincho@gmail.com")
+                .build();
+        given(employeeService.updateEmployee(any(Employee.class), eq(3L)))
+                .willAnswer(invocationOnMock -> {
+                    Employee employee = invocationOnMock.getArgument(0);
+                    employee.setVersion(4L);
+                    return employee;
+                });
+        // When: Update the employee sending its ETag
+        ResultActions response = mockMvc.perform(put("/api/employee/{id}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+        // Then: Check the update skipped the read and returned the new ETag
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.name", is(updatedEmployee.getName())));
+        verify(employeeService, never()).getEmployeeById(employeeId);
+    }
+    @Test
+    @DisplayName("Update Stale Employee with If-Match from Rest Controller")
+    void updateStaleEmployeeIfMatchTest() throws Exception {
+        // Given: Saved employee modified after the version known by the client
+        long employeeId = 1L;
+        Employee updatedEmployee = Employee.builder()
+                .name("Eduardo")
+                .lastname("Jove")
+                .email("angelhincho@gmail.com")
+                .build();
+        given(employeeService.updateEmployee(any(Employee.class), eq(3L)))
+                .willThrow(new EmployeeVersionMismatchException("The employee was modified since version 3: 1"));
+        // When: Update the employee sending an old ETag
+        ResultActions response = mockMvc.perform(put("/api/employee/{id}", employeeId)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+        // Then: Check the precondition failed
+        response.andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+    @Test
+    @DisplayName("Update Employee with Weak If-Match from Rest Controller")
+    void updateEmployeeWeakIfMatchTest() throws Exception {
+        // Given: A weak ETag, which never matches for updates
+        Employee updatedEmployee = Employee.builder()
+                .name("Eduardo")
+                .lastname("Jove")
+                .email("angelhincho@gmail.com")
+                .build();
+        // When: Update the employee sending the weak ETag
+        ResultActions response = mockMvc.perform(put("/api/employee/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+        // Then: Check the precondition failed without touching the service
+        response.andExpect(status().isPreconditionFailed())
+                .andDo(print());
+        verify(employeeService, never()).updateEmployee(any(Employee.class), anyLong());
+    }
+    @Test
     @DisplayName("Update Employee from Rest Controller")
     void updateEmployeeTest() throws Exception {
         // Given: Saved employee on Database
@@ -125,19 +735,19 @@ public class EmployeeControllerTests {
                 .lastname("Jove")
                 .email("angelhincho@gmail.com")
                 .build();
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
         given(employeeService.updateEmployee(any(Employee.class)))
                 .willAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
         // When: Try to update recorded employee from rest controller
         ResultActions response = mockMvc.perform(put("/api/employee/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)));
-        // Then: Check that fields were updated
+        // Then: Check that fields were updated without reading the employee first
         response.andExpect(status().isOk())
                 .andDo(print())
                 .andExpect(jsonPath("$.name", is(updatedEmployee.getName())))
                 .andExpect(jsonPath("$.lastname", is(updatedEmployee.getLastname())))
                 .andExpect(jsonPath("$.email", is(updatedEmployee.getEmail())));
+        verify(employeeService, never()).getEmployeeById(employeeId);
     }
     @Test
     @DisplayName("Update No Register Employee from Rest Controller")
@@ -154,9 +764,8 @@ public class EmployeeControllerTests {
                 .lastname("Jove")
                 .email("angelhincho@gmail.com")
                 .build();
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
         given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
+                .willThrow(new ResourceNotFoundException("The employee does not exist: " + employeeId));
         // When: Try to update recorded employee from rest controller
         ResultActions response = mockMvc.perform(put("/api/employee/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -166,6 +775,27 @@ public class EmployeeControllerTests {
                 .andDo(print());
     }
     @Test
+    @DisplayName("Non Numeric Employee Id from Rest Controller")
+    void nonNumericEmployeeIdTest() throws Exception {
+        // Given: A path segment that is not an employee id
+        Employee updatedEmployee = Employee.builder()
+                .name("Eduardo")
+                .lastname("Jove")
+                .email("angelhincho@gmail.com")
+                .build();
+        // When: Try to read, update and delete it from rest controller
+        ResultActions read = mockMvc.perform(get("/api/employee/{id}", "abc"));
+        ResultActions update = mockMvc.perform(put("/api/employee/{id}", "abc")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)));
+        ResultActions remove = mockMvc.perform(delete("/api/employee/{id}", "abc"));
+        // Then: Check that no route matched and the service was never called
+        read.andExpect(status().isNotFound());
+        update.andExpect(status().isNotFound());
+        remove.andExpect(status().isNotFound());
+        verifyNoInteractions(employeeService);
+    }
+    @Test
     @DisplayName("Delete Employee from Rest Controller")
     void deleteEmployeeTest() throws Exception {
         // Given: Saved employee on Database
@@ -175,11 +805,22 @@ public class EmployeeControllerTests {
                 .lastname("Hincho")
                 .email("ahincho@unsa.edu.pe")
                 .build();
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee));
-        willDoNothing().given(employeeService).deleteEmployee(employeeId);
+        given(employeeService.deleteEmployee(employeeId)).willReturn(true);
         // When: Try to delete employee from rest controller
         ResultActions response = mockMvc.perform(delete("/api/employee/{id}", employeeId));
         // Then: Check that the employee was deleted
+        response.andExpect(status().isOk())
+                .andDo(print());
+    }
+    @Test
+    @DisplayName("Delete No Register Employee from Rest Controller")
+    void deleteNoRegisterEmployeeTest() throws Exception {
+        // Given: No saved employee on Database
+        long employeeId = 1L;
+        given(employeeService.deleteEmployee(employeeId)).willReturn(false);
+        // When: Try to delete employee from rest controller
+        ResultActions response = mockMvc.perform(delete("/api/employee/{id}", employeeId));
+        // Then: Check that the employee was not found
         response.andExpect(status().isNotFound())
                 .andDo(print());
     }
@@ -0,0 +1,94 @@
+package com.unsa.testing.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.services.EmployeeService;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest(properties = {
+        "employee.rate-limit.budgets.list.concurrency=1",
+        "employee.rate-limit.budgets.write.requests-per-second=0.5",
+        "employee.rate-limit.budgets.write.burst=2"
+})
+@AutoConfigureMockMvc
+public class EmployeeRateLimitTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @MockBean
+    private EmployeeService employeeService;
+    @Test
+    @DisplayName("Reject Listing over the Concurrency Budget without Blocking Reads")
+    void rejectListingOverConcurrencyTest() throws Exception {
+        // Given: A listing holding the only list permit
+        CountDownLatch listing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(employeeService.getEmployeesPage(any(), anyInt(), any())).willAnswer(invocationOnMock -> {
+            listing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return CursorPage.<EmployeeSummary>builder().content(List.of()).build();
+        });
+        given(employeeService.getEmployeeById(anyLong())).willReturn(Optional.empty());
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(get("/api/employee")).andReturn().getResponse().getStatus();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(listing.await(10, TimeUnit.SECONDS)).isTrue();
+        // When: List again and look an employee up while the first listing runs
+        mockMvc.perform(get("/api/employee/search").param("name", "Ang"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(get("/api/employee/1"))
+                .andExpect(status().isNotFound());
+        release.countDown();
+        // Then: Check the first listing finished and the rejection was counted
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+        assertThat(meterRegistry.get(MetricsConfig.EMPLOYEE_RATE_LIMIT)
+                .tags("budget", "list", "reason", "concurrency").counter().count()).isEqualTo(1);
+    }
+    @Test
+    @DisplayName("Reject Writes over the Client Rate with Retry-After")
+    void rejectWritesOverRateTest() throws Exception {
+        // Given: A write budget of a burst of two and one request every two seconds
+        given(employeeService.deleteEmployee(anyLong())).willReturn(true);
+        // When: Delete three employees right away
+        mockMvc.perform(delete("/api/employee/1")).andExpect(status().isOk());
+        mockMvc.perform(delete("/api/employee/2")).andExpect(status().isOk());
+        // Then: Check the third write is rejected until the next token
+        String retryAfter = mockMvc.perform(delete("/api/employee/3"))
+                .andExpect(status().isTooManyRequests())
+                .andReturn().getResponse().getHeader(HttpHeaders.RETRY_AFTER);
+        assertThat(Integer.parseInt(retryAfter)).isBetween(1, 2);
+        assertThat(meterRegistry.get(MetricsConfig.EMPLOYEE_RATE_LIMIT)
+                .tags("budget", "write", "reason", "rate").counter().count()).isEqualTo(1);
+    }
+}
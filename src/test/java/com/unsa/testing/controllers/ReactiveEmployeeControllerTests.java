@@ -0,0 +1,179 @@
+package com.unsa.testing.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.infrastructure.config.SerializationConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive"
+})
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTests {
+    @Autowired
+    private WebTestClient webTestClient;
+    @Test
+    @DisplayName("Save and Revalidate Employee from Reactive Controller")
+    void saveAndRevalidateEmployeeTest() {
+        // Given: Employee saved through the reactive API
+        Employee savedEmployee = save("Angel", "Hincho", "reactive.save@unsa.edu.pe");
+        // When: Read it back and revalidate with its ETag
+        String eTag = webTestClient.get().uri("/api/employee/{id}", savedEmployee.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody(Employee.class).value(employee -> assertThat(employee.getEmail()).isEqualTo("reactive.save@unsa.edu.pe"))
+                .returnResult().getResponseHeaders().getETag();
+        // Then: Check the unchanged employee is not sent again
+        webTestClient.get().uri("/api/employee/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+    @Test
+    @DisplayName("Save Duplicated Employee from Reactive Controller")
+    void saveDuplicatedEmployeeTest() {
+        // Given: Employee already saved
+        save("Angel", "Hincho", "reactive.duplicated@unsa.edu.pe");
+        // When: Save another employee with the same email
+        // Then: Check the conflict is reported
+        webTestClient.post().uri("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Employee.builder().name("Eduardo").lastname("Jove").email("reactive.duplicated@unsa.edu.pe").build())
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+    @Test
+    @DisplayName("Conditional Update and Delete from Reactive Controller")
+    void conditionalUpdateAndDeleteTest() {
+        // Given: Employee saved at version 0
+        Employee savedEmployee = save("Angel", "Hincho", "reactive.update@unsa.edu.pe");
+        Employee changes = Employee.builder().name("Eduardo").lastname("Jove").email("reactive.update@unsa.edu.pe").build();
+        // When: Update it at a stale version and then at the current one
+        webTestClient.put().uri("/api/employee/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"7\"")
+                .bodyValue(changes)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.put().uri("/api/employee/{id}", savedEmployee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(changes)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"");
+        // Then: Check the employee is deleted once and then missing
+        webTestClient.delete().uri("/api/employee/{id}", savedEmployee.getId())
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.delete().uri("/api/employee/{id}", savedEmployee.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+    @Test
+    @DisplayName("Unconditional Update Returns Version from Reactive Controller")
+    void unconditionalUpdateTest() {
+        // Given: Employee saved at version 0
+        Employee savedEmployee = save("Angel", "Hincho", "reactive.put@unsa.edu.pe");
+        Employee changes = Employee.builder().name("Eduardo").lastname("Jove").email("reactive.put@unsa.edu.pe").build();
+        // When: Update it twice without If-Match
+        webTestClient.put().uri("/api/employee/{id}", savedEmployee.getId())
+                .bodyValue(changes)
+                .exchange()
+                .expectStatus().isOk();
+        // Then: Check the response carries the bumped version in the body and the ETag
+        webTestClient.put().uri("/api/employee/{id}", savedEmployee.getId())
+                .bodyValue(changes)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2\"")
+                .expectBody().jsonPath("$.version").isEqualTo(2);
+        webTestClient.put().uri("/api/employee/{id}", savedEmployee.getId() + 1000)
+                .bodyValue(changes)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+    @Test
+    @DisplayName("Import and Stream Employees from Reactive Controller")
+    void importAndStreamEmployeesTest() {
+        // Given: Employees sent as NDJSON to the batch endpoint
+        String body = "{\"name\":\"Angel\",\"lastname\":\"Hincho\",\"email\":\"reactive.batch1@unsa.edu.pe\"}\n"
+                + "{\"name\":\"Eduardo\",\"lastname\":\"Jove\",\"email\":\"reactive.batch2@unsa.edu.pe\"}\n";
+        EmployeeImportReport report = webTestClient.post().uri("/api/employee/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(EmployeeImportReport.class)
+                .returnResult().getResponseBody();
+        assertThat(report.getCreated()).isEqualTo(2);
+        // When: Stream every employee as NDJSON
+        List<Employee> employees = webTestClient.get().uri("/api/employee?stream=true")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        // Then: Check the imported employees are streamed
+        assertThat(employees).extracting(Employee::getEmail)
+                .contains("reactive.batch1@unsa.edu.pe", "reactive.batch2@unsa.edu.pe");
+    }
+    @Test
+    @DisplayName("Get Employee as Smile from Reactive Controller")
+    void getEmployeeSmileTest() throws Exception {
+        // Given: Employee saved through the reactive API
+        Employee savedEmployee = save("Angel", "Hincho", "reactive.smile@unsa.edu.pe");
+        // When: Read it back asking for Smile
+        byte[] body = webTestClient.get().uri("/api/employee/{id}", savedEmployee.getId())
+                .accept(SerializationConfig.APPLICATION_SMILE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(SerializationConfig.APPLICATION_SMILE)
+                .expectBody().returnResult().getResponseBody();
+        // Then: Check the binary payload decodes to the same employee
+        Employee decoded = Jackson2ObjectMapperBuilder.smile().build().readValue(body, Employee.class);
+        assertThat(decoded.getEmail()).isEqualTo("reactive.smile@unsa.edu.pe");
+    }
+    @Test
+    @DisplayName("Default to JSON without Accept Header from Reactive Controller")
+    void defaultToJsonTest() {
+        // Given: Employee saved through the reactive API
+        Employee savedEmployee = save("Angel", "Hincho", "reactive.json@unsa.edu.pe");
+        // When: Read it back and list it without an Accept header, and with a wildcard one
+        // Then: Check both answer JSON even though Smile and CBOR are registered
+        webTestClient.get().uri("/api/employee/{id}", savedEmployee.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.email").isEqualTo("reactive.json@unsa.edu.pe");
+        webTestClient.get().uri("/api/employee?size=1")
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+    private Employee save(String name, String lastname, String email) {
+        return webTestClient.post().uri("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Employee.builder().name(name).lastname(lastname).email(email).build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Employee.class)
+                .returnResult().getResponseBody();
+    }
+}
@@ -0,0 +1,52 @@
+package com.unsa.testing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Run with: ./mvnw test -Pload-test (add -Pjava21 on a Java 21 runtime to include virtual threads)
+@Tag("load")
+public class EmployeeLoadTests {
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 256);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 20));
+    private static final int EMPLOYEES = 1_000;
+    @Test
+    @DisplayName("Compare Platform Threads, Virtual Threads and Reactive at Equal Concurrency")
+    void platformVersusVirtualThreadsTest() throws Exception {
+        // Given: The same application started once per threading mode
+        List<LoadReport> reports = new ArrayList<>();
+        // When: Drive the same request mix against each mode
+        reports.add(runAgainst("platform-threads"));
+        if (Runtime.version().feature() >= 21) {
+            reports.add(runAgainst("virtual-threads", "virtual-threads"));
+        }
+        reports.add(runAgainst("reactive", "reactive"));
+        // Then: Report throughput and latency side by side
+        LoadReport.print(reports);
+        assertThat(reports).allSatisfy(report -> assertThat(report.errors()).isZero());
+    }
+    private LoadReport runAgainst(String name, String... profiles) throws Exception {
+        try (LoadTarget target = new LoadTarget(name, profiles)) {
+            URI baseUri = target.baseUri();
+            List<Long> ids = target.seed("employee", EMPLOYEES);
+            return new LoadGenerator(CONCURRENCY, WARMUP, DURATION).run(name, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long id = ids.get(random.nextInt(ids.size()));
+                URI uri = random.nextInt(10) < 8
+                        ? URI.create(baseUri + "/" + id)
+                        : URI.create(baseUri + "?size=50&after=" + id);
+                return HttpRequest.newBuilder(uri).GET().build();
+            });
+        }
+    }
+}
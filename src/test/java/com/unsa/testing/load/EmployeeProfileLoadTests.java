@@ -0,0 +1,80 @@
+package com.unsa.testing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Run with: ./mvnw test -Pload-test -Dtest=EmployeeProfileLoadTests
+@Tag("load")
+public class EmployeeProfileLoadTests {
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 20));
+    private static final int EMPLOYEES = 1_000;
+    private static final int DELETABLE = 20_000;
+    @Test
+    @DisplayName("Compare the Default Configuration with the Tuned Performance Profiles")
+    void performanceProfilesTest() throws Exception {
+        // Given: The same application started once per profile combination
+        List<LoadReport> reports = new ArrayList<>();
+        // When: Drive a mix of creates, listings, reads, updates and deletes against each one
+        reports.add(runAgainst("default"));
+        reports.add(runAgainst("tuned", "tuned"));
+        reports.add(runAgainst("tuned+large-pool", "tuned", "large-pool"));
+        // Then: Report throughput and latency side by side, relative to the defaults
+        LoadReport.print(reports);
+        assertThat(reports).allSatisfy(report -> assertThat(report.errors()).isZero());
+    }
+    private LoadReport runAgainst(String name, String... profiles) throws Exception {
+        try (LoadTarget target = new LoadTarget(name, profiles)) {
+            URI baseUri = target.baseUri();
+            List<Long> ids = target.seed("employee", EMPLOYEES);
+            // Deletes consume their own rows so reads and updates keep finding theirs
+            List<Long> deletable = target.seed("deletable", DELETABLE);
+            AtomicInteger deleted = new AtomicInteger();
+            AtomicLong created = new AtomicLong();
+            return new LoadGenerator(CONCURRENCY, WARMUP, DURATION).run(name, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int index = random.nextInt(ids.size());
+                long id = ids.get(index);
+                int operation = random.nextInt(100);
+                if (operation < 10) {
+                    return json(URI.create(baseUri.toString()), "POST", "created" + created.incrementAndGet());
+                }
+                if (operation < 30) {
+                    return HttpRequest.newBuilder(URI.create(baseUri + "?size=50&after=" + id)).GET().build();
+                }
+                if (operation < 45) {
+                    return json(URI.create(baseUri + "/" + id), "PUT", "employee" + index);
+                }
+                if (operation < 50) {
+                    int next = deleted.getAndIncrement();
+                    if (next < deletable.size()) {
+                        return HttpRequest.newBuilder(URI.create(baseUri + "/" + deletable.get(next))).DELETE().build();
+                    }
+                }
+                return HttpRequest.newBuilder(URI.create(baseUri + "/" + id)).GET().build();
+            });
+        }
+    }
+    private static HttpRequest json(URI uri, String method, String local) {
+        String body = "{\"name\":\"Angel\",\"lastname\":\"Hincho " + ThreadLocalRandom.current().nextInt(1000)
+                + "\",\"email\":\"" + local + "@unsa.edu.pe\"}";
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
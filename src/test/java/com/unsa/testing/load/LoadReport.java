@@ -0,0 +1,23 @@
+package com.unsa.testing.load;
+
+import java.util.List;
+
+record LoadReport(String name, long requests, long errors, double throughput, double p50, double p95, double p99) {
+    // The first report is the baseline the others are compared against
+    static void print(List<LoadReport> reports) {
+        System.out.printf("%n%-24s %10s %8s %12s %8s %10s %10s %10s %8s%n",
+                "scenario", "requests", "errors", "req/s", "vs first", "p50 ms", "p95 ms", "p99 ms", "vs first");
+        LoadReport baseline = reports.isEmpty() ? null : reports.get(0);
+        for (LoadReport report : reports) {
+            System.out.printf("%-24s %10d %8d %12.1f %8s %10.2f %10.2f %10.2f %8s%n",
+                    report.name(), report.requests(), report.errors(), report.throughput(),
+                    change(report.throughput(), baseline.throughput()),
+                    report.p50(), report.p95(), report.p99(), change(report.p99(), baseline.p99()));
+        }
+        System.out.println();
+    }
+
+    private static String change(double value, double baseline) {
+        return baseline == 0 ? "-" : String.format("%+.0f%%", (value - baseline) / baseline * 100);
+    }
+}
@@ -0,0 +1,62 @@
+package com.unsa.testing.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unsa.testing.TestingApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// The application started on a random port with its own in-memory database and no rate limits
+class LoadTarget implements AutoCloseable {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private final ConfigurableApplicationContext context;
+    private final URI baseUri;
+
+    LoadTarget(String name, String... profiles) {
+        String database = name.replace('+', '-');
+        // Passed as arguments, since default properties would lose to the same keys in application.properties
+        this.context = new SpringApplicationBuilder(TestingApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:" + database,
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///" + database, "--employee.rate-limit.enabled=false");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.baseUri = URI.create("http://localhost:" + port + "/api/employee");
+    }
+
+    URI baseUri() {
+        return baseUri;
+    }
+
+    // Saves count employees with emails local0, local1, ... through the batch endpoint and returns their ids
+    List<Long> seed(String local, int count) throws Exception {
+        String body = IntStream.range(0, count)
+                .mapToObj(i -> "{\"name\":\"Angel\",\"lastname\":\"Hincho\",\"email\":\"" + local + i + "@unsa.edu.pe\"}")
+                .collect(Collectors.joining("\n"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + "/batch"))
+                .header("Content-Type", MediaType.APPLICATION_NDJSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>(count);
+        for (JsonNode result : OBJECT_MAPPER.readTree(response.body()).get("results")) {
+            ids.add(result.get("id").asLong());
+        }
+        return ids;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
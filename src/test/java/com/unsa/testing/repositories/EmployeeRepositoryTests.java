@@ -1,21 +1,37 @@
 package com.unsa.testing.repositories;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
 import com.unsa.testing.domain.repositories.EmployeeRepository;
+import com.unsa.testing.domain.exceptions.InvalidSearchException;
+import com.unsa.testing.domain.repositories.EmployeeSpecifications;
+import com.unsa.testing.infrastructure.EmployeeTrigramIndex;
+import com.unsa.testing.infrastructure.config.EmployeeSearchConfig;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @DataJpaTest
+@Import(EmployeeSearchConfig.class)
 public class EmployeeRepositoryTests {
     private Employee employee;
     @BeforeEach
@@ -29,6 +45,8 @@ public class EmployeeRepositoryTests {
     }
     @Autowired
     private EmployeeRepository employeeRepository;
+    @Autowired
+    private DataSource dataSource;
     // Given: Precondition or configuration
     // When: Action or behaviour to tests
     // Then: Verify the output
@@ -54,7 +72,7 @@ public class EmployeeRepositoryTests {
         Employee anotherEmployee = Employee.builder()
                 .name("Angel")
                 .lastname("Hincho")
-                .email("ahincho@unsa.edu.pe")
+                .email("angelhincho@gmail.com")
                 .build();
         employeeRepository.save(employee);
         employeeRepository.save(anotherEmployee);
@@ -65,6 +83,64 @@ public class EmployeeRepositoryTests {
         assertThat(employees.size()).isEqualTo(2);
     }
     @Test
+    @DisplayName("Save Employee with Duplicated Email Test")
+    void saveDuplicatedEmailTest() {
+        // Given: Employee saved on Database
+        employeeRepository.saveAndFlush(employee);
+        Employee anotherEmployee = Employee.builder()
+                .name("Eduardo")
+                .lastname("Jove")
+                .email("ahincho@unsa.edu.pe")
+                .build();
+        // When: Save another employee with the same email
+        Throwable thrown = catchThrowable(() -> employeeRepository.saveAndFlush(anotherEmployee));
+        // Then: Verify the unique email constraint rejected the insert
+        assertThat(thrown).isInstanceOf(DataIntegrityViolationException.class)
+                .cause().isInstanceOf(ConstraintViolationException.class);
+        assertThat(((ConstraintViolationException) thrown.getCause()).getConstraintName())
+                .containsIgnoringCase(Employee.EMAIL_CONSTRAINT);
+    }
+    @Test
+    @DisplayName("Find Saved Emails Test")
+    void findSavedEmailsTest() {
+        // Given: Employee saved on Database
+        employeeRepository.save(employee);
+        // When: Look for a set of emails at once
+        List<String> emails = employeeRepository.findSavedEmails(List.of("ahincho@unsa.edu.pe", "angelhincho@gmail.com"));
+        // Then: Verify only the saved email is returned
+        assertThat(emails).containsExactly("ahincho@unsa.edu.pe");
+    }
+    @Test
+    @DisplayName("List Employees After Cursor Test")
+    void listEmployeesAfterCursorTest() {
+        // Given: Three employees saved on Database
+        Employee first = employeeRepository.save(employee);
+        Employee second = employeeRepository.save(Employee.builder().name("Eduardo").lastname("Jove").email("angelhincho@gmail.com").build());
+        Employee third = employeeRepository.save(Employee.builder().name("Fabiola").lastname("Tapara").email("ftapara@unsa.edu.pe").build());
+        // When: Recover the emails of the page right after the first employee
+        List<EmployeeSummary> employees = employeeRepository.findSummaries(
+                EmployeeSpecifications.idAfter(first.getId(), Sort.Direction.ASC), Sort.by("id"), 1, List.of("id", "email"));
+        // Then: Verify only the next employee is returned with the selected columns
+        assertThat(employees).extracting(EmployeeSummary::getId).containsExactly(second.getId());
+        assertThat(employees).extracting(EmployeeSummary::getEmail).containsExactly("angelhincho@gmail.com");
+        assertThat(employees).extracting(EmployeeSummary::getName).containsOnlyNulls();
+        assertThat(third.getId()).isGreaterThan(second.getId());
+    }
+    @Test
+    @DisplayName("Stream Employees Ordered by Id Test")
+    void streamEmployeesTest() {
+        // Given: Employees saved on Database
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().name("Eduardo").lastname("Jove").email("angelhincho@gmail.com").build());
+        // When: Stream the employees from Database
+        List<Long> ids;
+        try (Stream<EmployeeSummary> employees = employeeRepository.streamAllSummaries()) {
+            ids = employees.map(EmployeeSummary::getId).toList();
+        }
+        // Then: Verify every employee is read in id order
+        assertThat(ids).hasSize(2).isSorted();
+    }
+    @Test
     @DisplayName("Recover Employee by Id Test")
     void findEmployeeByIdTest() {
         // Given: Employee saved on Database
@@ -92,6 +168,155 @@ public class EmployeeRepositoryTests {
         assertThat(updatedEmployee.getEmail()).isEqualTo("angelhincho@gmail.com");
     }
     @Test
+    @DisplayName("Version Employee on Update Test")
+    void versionEmployeeOnUpdateTest() {
+        // Given: Employee saved on Database
+        employeeRepository.saveAndFlush(employee);
+        Long version = employeeRepository.findVersionById(employee.getId()).get();
+        // When: Update the employee
+        employee.setName("Eduardo");
+        Employee updatedEmployee = employeeRepository.saveAndFlush(employee);
+        // Then: Verify the version and timestamp moved forward
+        assertThat(updatedEmployee.getVersion()).isEqualTo(version + 1);
+        assertThat(updatedEmployee.getUpdatedAt()).isNotNull();
+    }
+    @Test
+    @DisplayName("Update Employee If Version Matches Test")
+    void updateIfVersionMatchesTest() {
+        // Given: Employee saved on Database
+        employeeRepository.saveAndFlush(employee);
+        Long version = employee.getVersion();
+        // When: Update twice expecting the same version
+        int updated = employeeRepository.updateIfVersionMatches(employee.getId(), version,
+                "Eduardo", "Jove", "angelhincho@gmail.com", Instant.now());
+        int stale = employeeRepository.updateIfVersionMatches(employee.getId(), version,
+                "Fabiola", "Tapara", "ftapara@unsa.edu.pe", Instant.now());
+        // Then: Verify only the first update was applied
+        Employee savedEmployee = employeeRepository.findById(employee.getId()).get();
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isZero();
+        assertThat(savedEmployee.getName()).isEqualTo("Eduardo");
+        assertThat(savedEmployee.getVersion()).isEqualTo(version + 1);
+    }
+    @Test
+    @DisplayName("Search Employees by Prefix on Database Test")
+    void searchByPrefixTest() {
+        // Given: Employees saved on Database
+        employeeRepository.saveAll(List.of(
+                employee,
+                Employee.builder().name("Angela").lastname("Quispe").email("aquispe@unsa.edu.pe").build(),
+                Employee.builder().name("Eduardo").lastname("Angeles").email("eangeles@unsa.edu.pe").build()));
+        // When: Search names starting with the prefix ordered by name
+        List<Employee> employees = employeeRepository.findAll(EmployeeSpecifications.startsWith("name", "Ang"),
+                Sort.by("name", "id"));
+        // Then: Verify only the prefix matches are recovered
+        assertThat(employees).extracting(Employee::getName).containsExactly("Angel", "Angela");
+    }
+    @Test
+    @DisplayName("Search Employees by Contains with Wildcards on Database Test")
+    void searchByContainsTest() {
+        // Given: Employees saved on Database
+        employeeRepository.saveAll(List.of(
+                employee,
+                Employee.builder().name("Eduardo").lastname("Angeles").email("e_angeles@unsa.edu.pe").build()));
+        // When: Search emails containing a literal underscore
+        List<Employee> employees = employeeRepository.findAll(EmployeeSpecifications.contains("email", "_an", true));
+        // Then: Verify the underscore was not treated as a wildcard
+        assertThat(employees).extracting(Employee::getEmail).containsExactly("e_angeles@unsa.edu.pe");
+    }
+    @Test
+    @DisplayName("Search Employees by Contains after Updates and Deletes on Database Test")
+    void searchByContainsAfterWritesTest() {
+        // Given: Employees saved on Database, one renamed in a bulk update and one deleted
+        Employee saved = employeeRepository.save(employee);
+        Employee deleted = employeeRepository.save(Employee.builder().name("Eduardo").lastname("Quispe").email("equispe@unsa.edu.pe").build());
+        employeeRepository.updateById(saved.getId(), "Angel", "Quispe", "aquispe@unsa.edu.pe", Instant.now());
+        employeeRepository.deleteEmployeeById(deleted.getId());
+        // When: Search lastnames containing the old and the new value
+        List<Employee> renamed = employeeRepository.findAll(EmployeeSpecifications.contains("lastname", "uisp", true));
+        List<Employee> previous = employeeRepository.findAll(EmployeeSpecifications.contains("lastname", "inch", true));
+        // Then: Verify the trigram postings followed every write
+        assertThat(renamed).extracting(Employee::getId).containsExactly(saved.getId());
+        assertThat(previous).isEmpty();
+    }
+    @Test
+    @DisplayName("Search Employees by Contains without Trigram Index on Database Test")
+    // Dropping and creating the trigger commits, so this test commits its rows and deletes them itself
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void searchByContainsWithoutIndexTest() {
+        // Given: The trigram index switched off, then employees saved on Database
+        EmployeeTrigramIndex disabled = new EmployeeTrigramIndex(dataSource, false);
+        disabled.afterPropertiesSet();
+        Employee saved = employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().name("Eduardo").lastname("Jove").email("ejove@unsa.edu.pe").build());
+        try {
+            // When: Search lastnames containing a term with and without the postings, then switch the index back on
+            List<Employee> scanned = employeeRepository.findAll(EmployeeSpecifications.contains("lastname", "inch", false));
+            List<Employee> indexed = employeeRepository.findAll(EmployeeSpecifications.contains("lastname", "inch", true));
+            EmployeeTrigramIndex enabled = new EmployeeTrigramIndex(dataSource, true);
+            enabled.afterPropertiesSet();
+            // Then: Verify the trigger was dropped, so only the scan finds the employee, and enabling it backfills
+            assertThat(disabled.isInstalled()).isFalse();
+            assertThat(scanned).extracting(Employee::getId).containsExactly(saved.getId());
+            assertThat(indexed).isEmpty();
+            assertThat(enabled.isInstalled()).isTrue();
+            assertThat(employeeRepository.findAll(EmployeeSpecifications.contains("lastname", "inch", true)))
+                    .extracting(Employee::getId).containsExactly(saved.getId());
+        } finally {
+            new EmployeeTrigramIndex(dataSource, true).afterPropertiesSet();
+            employeeRepository.deleteAll();
+        }
+    }
+    @Test
+    @DisplayName("Reject Contains Terms Shorter than a Trigram Test")
+    void rejectShortContainsTermTest() {
+        // When: Build a contains search for two characters
+        Throwable exception = catchThrowable(() -> EmployeeSpecifications.contains("name", "An", true));
+        // Then: Verify the term is rejected instead of scanning the table
+        assertThat(exception).isInstanceOf(InvalidSearchException.class);
+    }
+    @Test
+    @DisplayName("Search Employees After Keyset on Database Test")
+    void searchAfterKeysetTest() {
+        // Given: Employees sharing the sorted value saved on Database
+        Employee first = employeeRepository.save(Employee.builder().name("Angel").lastname("Quispe").email("aquispe@unsa.edu.pe").build());
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().name("Eduardo").lastname("Jove").email("ejove@unsa.edu.pe").build());
+        // When: Recover the rows after the first one in (name, id) order
+        List<Employee> employees = employeeRepository.findAll(
+                EmployeeSpecifications.after("name", first.getName(), first.getId(), Sort.Direction.ASC),
+                Sort.by("name", "id"));
+        // Then: Verify the tie on name is broken by id
+        assertThat(employees).extracting(Employee::getEmail).containsExactly("ahincho@unsa.edu.pe", "ejove@unsa.edu.pe");
+    }
+    @Test
+    @DisplayName("Update Employee in One Statement Test")
+    void updateByIdTest() {
+        // Given: Employee saved on Database
+        employeeRepository.saveAndFlush(employee);
+        Long version = employee.getVersion();
+        // When: Update the saved employee and a missing one
+        int updated = employeeRepository.updateById(employee.getId(), "Eduardo", "Jove", "angelhincho@gmail.com", Instant.now());
+        int missing = employeeRepository.updateById(employee.getId() + 1000, "Eduardo", "Jove", "eduardo@gmail.com", Instant.now());
+        // Then: Verify the affected rows and the new version
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(employeeRepository.findVersionById(employee.getId())).contains(version + 1);
+    }
+    @Test
+    @DisplayName("Delete Employee in One Statement Test")
+    void deleteEmployeeByIdTest() {
+        // Given: Employee saved on Database
+        employeeRepository.saveAndFlush(employee);
+        // When: Delete the employee twice
+        int deleted = employeeRepository.deleteEmployeeById(employee.getId());
+        int missing = employeeRepository.deleteEmployeeById(employee.getId());
+        // Then: Verify only the first delete affected a row
+        assertThat(deleted).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(employeeRepository.findById(employee.getId())).isEmpty();
+    }
+    @Test
     @DisplayName("Delete Employee on Database Test")
     void deleteEmployeeTest() {
         // Given: Employee saved on Database
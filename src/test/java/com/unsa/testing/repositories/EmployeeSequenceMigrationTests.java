@@ -0,0 +1,78 @@
+package com.unsa.testing.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.unsa.testing.application.services.EmployeeService;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.infrastructure.EmployeeSequenceMigration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + EmployeeSequenceMigrationTests.URL,
+        "spring.jpa.hibernate.ddl-auto=update",
+        "employee.id.allocation-size=10"
+})
+public class EmployeeSequenceMigrationTests {
+    static final String URL = "jdbc:h2:mem:sequence;DB_CLOSE_DELAY=-1";
+    private static final String TABLE = "create table employees (id bigint generated by default as identity primary key, "
+            + "name varchar(255) not null, lastname varchar(255) not null, email varchar(255) not null unique, "
+            + "version bigint not null, updated_at timestamp(6) with time zone)";
+    @Autowired
+    private EmployeeService employeeService;
+    @BeforeAll
+    static void existingTable() {
+        // Given: A table filled through an identity column before the application starts
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource(URL));
+        jdbcTemplate.execute(TABLE);
+        insert(jdbcTemplate, 3);
+    }
+    @Test
+    @DisplayName("Save Employee after Ids from Identity Column Test")
+    void saveAfterIdentityIdsTest() {
+        // When: Save an employee through the sequence the migration created
+        Employee savedEmployee = employeeService.saveEmployee(Employee.builder()
+                .name("Angel")
+                .lastname("Hincho")
+                .email("ahincho@unsa.edu.pe")
+                .build());
+        // Then: Check the id follows the existing ones within the first block of ten
+        assertThat(savedEmployee.getId()).isBetween(4L, 13L);
+        assertThat(new JdbcTemplate(dataSource(URL)).queryForObject(
+                "select increment from information_schema.sequences where sequence_name = 'EMPLOYEES_SEQ'", Long.class))
+                .isEqualTo(10L);
+    }
+    @Test
+    @DisplayName("Restart Sequence with new Allocation Size Test")
+    void restartWithNewAllocationSizeTest() {
+        // Given: A sequence with increment 50 that already handed out the blocks ending at 1 and 51
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource("jdbc:h2:mem:resize;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute(TABLE);
+        jdbcTemplate.execute("create sequence employees_seq start with 1 increment by 50");
+        jdbcTemplate.queryForObject("select next value for employees_seq", Long.class);
+        jdbcTemplate.queryForObject("select next value for employees_seq", Long.class);
+        insert(jdbcTemplate, 3);
+        // When: Migrate to an allocation size of 5 twice
+        new EmployeeSequenceMigration(jdbcTemplate.getDataSource(), 5).afterPropertiesSet();
+        new EmployeeSequenceMigration(jdbcTemplate.getDataSource(), 5).afterPropertiesSet();
+        // Then: Check the first new block starts after every id the old increment could have issued
+        assertThat(jdbcTemplate.queryForObject("select next value for employees_seq", Long.class)).isEqualTo(105L);
+        assertThat(jdbcTemplate.queryForObject("select next value for employees_seq", Long.class)).isEqualTo(110L);
+    }
+    private static void insert(JdbcTemplate jdbcTemplate, int count) {
+        for (int i = 1; i <= count; i++) {
+            jdbcTemplate.update("insert into employees (name, lastname, email, version) values (?, ?, ?, 0)",
+                    "Name" + i, "Lastname" + i, "employee" + i + "@unsa.edu.pe");
+        }
+    }
+    private static DataSource dataSource(String url) {
+        return new DriverManagerDataSource(url, "root", "root");
+    }
+}
@@ -0,0 +1,204 @@
+package com.unsa.testing.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.domain.exceptions.EmployeeIsSavedException;
+import com.unsa.testing.domain.exceptions.EmployeeVersionMismatchException;
+import com.unsa.testing.domain.repositories.OffHeapEmployeeStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public class OffHeapEmployeeStoreTests {
+    private static final int SEGMENT_SIZE = 256;
+    @TempDir
+    private Path directory;
+    @Test
+    @DisplayName("Find Employees by Id and Email in Off-Heap Store")
+    void findByIdAndEmailTest() throws IOException {
+        // Given: A store with segments small enough to hold only a few records each
+        try (OffHeapEmployeeStore store = open(1 << 20)) {
+            Instant updatedAt = Instant.parse("2024-05-01T10:15:30.123456Z");
+            List<Employee> saved = store.insertAll(List.of(
+                    employee("Angel", "Hincho", "ahincho@unsa.edu.pe"),
+                    employee("Eduardo", "Jove", "ejove@unsa.edu.pe"),
+                    employee("Ana", "Quispe", "aquispe@unsa.edu.pe"),
+                    employee("Ángela", "Núñez", "anunez@unsa.edu.pe")
+            ), updatedAt).stream().map(Optional::orElseThrow).toList();
+            // When: Insert a repeated email and look the employees up
+            Throwable duplicated = catchThrowable(() -> store.insert("Angel", "Hincho", "ahincho@unsa.edu.pe", updatedAt));
+            // Then: Check the ids are sequential, the lookups decode every column and the duplicate is rejected
+            assertThat(saved).extracting(Employee::getId).containsExactly(1L, 2L, 3L, 4L);
+            assertThat(store.findById(4L)).get()
+                    .extracting(Employee::getName, Employee::getLastname, Employee::getVersion, Employee::getUpdatedAt)
+                    .containsExactly("Ángela", "Núñez", 0L, updatedAt);
+            assertThat(store.findByEmail("ejove@unsa.edu.pe")).get().extracting(Employee::getId).isEqualTo(2L);
+            assertThat(store.existsByEmail("EJOVE@unsa.edu.pe")).isFalse();
+            assertThat(store.findById(5L)).isEmpty();
+            assertThat(duplicated).isInstanceOf(EmployeeIsSavedException.class);
+            assertThat(store.count()).isEqualTo(4);
+        }
+    }
+    @Test
+    @DisplayName("Update and Delete Employees in Off-Heap Store")
+    void updateAndDeleteTest() throws IOException {
+        // Given: Three saved employees
+        try (OffHeapEmployeeStore store = open(1 << 20)) {
+            insert(store, 3);
+            // When: Move an email to another employee, update with a stale version and delete one
+            Employee updated = store.update(1L, "Angel", "Hincho", "angel@unsa.edu.pe", Instant.now(), 0L);
+            Throwable stale = catchThrowable(() -> store.update(1L, "Angel", "Hincho", "angel@unsa.edu.pe", Instant.now(), 0L));
+            Throwable taken = catchThrowable(() -> store.update(2L, "Eduardo", "Jove", "angel@unsa.edu.pe", Instant.now(), null));
+            boolean deleted = store.delete(2L);
+            // Then: Check the old email is free again, versions advance and listings skip the deleted employee
+            assertThat(updated.getVersion()).isEqualTo(1L);
+            assertThat(store.existsByEmail("employee1@unsa.edu.pe")).isFalse();
+            assertThat(store.findByEmail("angel@unsa.edu.pe")).get().extracting(Employee::getId).isEqualTo(1L);
+            assertThat(stale).isInstanceOf(EmployeeVersionMismatchException.class);
+            assertThat(taken).isInstanceOf(EmployeeIsSavedException.class);
+            assertThat(deleted).isTrue();
+            assertThat(store.delete(2L)).isFalse();
+            assertThat(store.findAfter(0L, 10)).extracting(EmployeeSummary::getId).containsExactly(1L, 3L);
+            assertThat(store.findAfter(1L, 1)).extracting(EmployeeSummary::getId).containsExactly(3L);
+        }
+    }
+    @Test
+    @DisplayName("Recover Employees from Snapshot and Append Log in Off-Heap Store")
+    void recoverFromSnapshotAndLogTest() throws IOException {
+        // Given: Employees compacted into a snapshot, followed by writes that only reached the log
+        OffHeapEmployeeStore store = open(1 << 20);
+        insert(store, 20);
+        store.snapshot();
+        store.update(3L, "Name3", "Lastname3", "moved@unsa.edu.pe", Instant.now(), null);
+        store.delete(4L);
+        store.insert("Angel", "Hincho", "ahincho@unsa.edu.pe", Instant.now());
+        // When: Reopen the directory without closing the store, as after a crash, then close and reopen it again
+        OffHeapEmployeeStore replayed = open(1 << 20);
+        List<Long> replayedIds = replayed.findAfter(0L, 100).stream().map(EmployeeSummary::getId).toList();
+        replayed.close();
+        try (OffHeapEmployeeStore reopened = open(1 << 20)) {
+            // Then: Check both recoveries see every write and keep assigning new ids after the last one
+            assertThat(replayedIds).hasSize(20).doesNotContain(4L).endsWith(21L);
+            assertThat(reopened.count()).isEqualTo(20);
+            assertThat(reopened.findByEmail("moved@unsa.edu.pe")).get()
+                    .extracting(Employee::getId, Employee::getVersion)
+                    .containsExactly(3L, 1L);
+            assertThat(reopened.findById(4L)).isEmpty();
+            assertThat(Files.size(directory.resolve("employees.log"))).isZero();
+            assertThat(reopened.insert("Ana", "Quispe", "aquispe@unsa.edu.pe", Instant.now()).getId()).isEqualTo(22L);
+        }
+    }
+    @Test
+    @DisplayName("Drop Incomplete Log Writes in Off-Heap Store")
+    void dropIncompleteLogWriteTest() throws IOException {
+        // Given: Two logged inserts, the second one cut short
+        OffHeapEmployeeStore store = open(1 << 20);
+        insert(store, 2);
+        try (FileChannel log = FileChannel.open(directory.resolve("employees.log"), StandardOpenOption.WRITE)) {
+            log.truncate(log.size() - 3);
+        }
+        // When: Reopen the directory
+        try (OffHeapEmployeeStore reopened = open(1 << 20)) {
+            // Then: Check only the complete insert is recovered and its id is not handed out again
+            assertThat(reopened.findAfter(0L, 10)).extracting(EmployeeSummary::getEmail)
+                    .containsExactly("employee1@unsa.edu.pe");
+            assertThat(reopened.insert("Ana", "Quispe", "aquispe@unsa.edu.pe", Instant.now()).getId()).isEqualTo(2L);
+        }
+    }
+    @Test
+    @DisplayName("Compact Log into Snapshot once it Exceeds its Limit in Off-Heap Store")
+    void compactLogTest() throws IOException, InterruptedException {
+        // Given: A log limit of a few records
+        try (OffHeapEmployeeStore store = open(512)) {
+            // When: Insert and update more employees than the log can hold, then wait for the background compaction
+            insert(store, 10);
+            for (long id = 1; id <= 10; id++) {
+                store.update(id, "Name" + id, "Lastname" + id, "employee" + id + "@unsa.edu.pe", Instant.now(), null);
+            }
+            Path log = directory.resolve("employees.log");
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while ((Files.size(log) > 512 || Files.exists(directory.resolve("employees.log.1")))
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            // Then: Check the log was folded into the snapshot and the updates replaced the old records
+            assertThat(Files.size(log)).isLessThanOrEqualTo(512);
+            assertThat(Files.exists(directory.resolve("employees.snapshot"))).isTrue();
+            assertThat(store.findAfter(0L, 20)).extracting(EmployeeSummary::getVersion).containsOnly(1L);
+            assertThat(store.garbageBytes()).isLessThan(store.offHeapBytes());
+        }
+    }
+    @Test
+    @DisplayName("Recover Employees from Interrupted Compaction in Off-Heap Store")
+    void recoverFromInterruptedCompactionTest() throws IOException {
+        // Given: A log set aside by a compaction that never wrote its snapshot, followed by newer writes
+        OffHeapEmployeeStore store = open(1 << 20);
+        insert(store, 3);
+        Files.move(directory.resolve("employees.log"), directory.resolve("employees.log.1"));
+        store = open(1 << 20);
+        store.update(2L, "Eduardo", "Jove", "ejove@unsa.edu.pe", Instant.now(), 0L);
+        store.delete(3L);
+        // When: Reopen the directory, then close and reopen it again
+        OffHeapEmployeeStore replayed = open(1 << 20);
+        List<String> replayedEmails = replayed.findAfter(0L, 10).stream().map(EmployeeSummary::getEmail).toList();
+        replayed.close();
+        try (OffHeapEmployeeStore reopened = open(1 << 20)) {
+            // Then: Check the older log is replayed first and folded into the snapshot with the newer one
+            assertThat(replayedEmails).containsExactly("employee1@unsa.edu.pe", "ejove@unsa.edu.pe");
+            assertThat(reopened.findAfter(0L, 10)).extracting(EmployeeSummary::getEmail)
+                    .containsExactly("employee1@unsa.edu.pe", "ejove@unsa.edu.pe");
+            assertThat(Files.exists(directory.resolve("employees.log.1"))).isFalse();
+        }
+    }
+    @Test
+    @DisplayName("Skip Log Already Folded into Snapshot in Off-Heap Store")
+    void skipFoldedLogTest() throws IOException {
+        // Given: A compaction that stopped after writing its snapshot, leaving the log it folded, which ends
+        // with an update and a delete of the employee before the last one
+        OffHeapEmployeeStore store = open(1 << 20);
+        insert(store, 6);
+        store.update(5L, "Name5", "Lastname5", "moved@unsa.edu.pe", Instant.now(), null);
+        store.delete(5L);
+        byte[] folded = Files.readAllBytes(directory.resolve("employees.log"));
+        store.snapshot();
+        Files.write(directory.resolve("employees.log.1"), folded);
+        // When: Reopen the directory and insert another employee
+        try (OffHeapEmployeeStore reopened = open(1 << 20)) {
+            reopened.insert("Ana", "Quispe", "aquispe@unsa.edu.pe", Instant.now());
+            // Then: Check paging from every id, the deleted one included, finds all later ones and the folded log is
+            // dropped instead of replayed
+            List<Long> live = List.of(1L, 2L, 3L, 4L, 6L, 7L);
+            for (long after = 0; after <= 7; after++) {
+                long from = after;
+                assertThat(reopened.findAfter(after, 20)).extracting(EmployeeSummary::getId)
+                        .as("after %d", after)
+                        .containsExactlyElementsOf(live.stream().filter(id -> id > from).toList());
+            }
+            assertThat(Files.exists(directory.resolve("employees.log.1"))).isFalse();
+        }
+    }
+    private OffHeapEmployeeStore open(long logLimit) throws IOException {
+        return new OffHeapEmployeeStore(directory, SEGMENT_SIZE, 4, logLimit);
+    }
+    private static void insert(OffHeapEmployeeStore store, int count) {
+        for (int i = 1; i <= count; i++) {
+            store.insert("Name" + i, "Lastname" + i, "employee" + i + "@unsa.edu.pe", Instant.now());
+        }
+    }
+    private static Employee employee(String name, String lastname, String email) {
+        return Employee.builder().name(name).lastname(lastname).email(email).build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.unsa.testing.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.unsa.testing.application.services.CoalescingEmployeeService;
+import com.unsa.testing.application.services.EmployeeServiceImpl;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class CoalescingEmployeeServiceTests {
+    private static final int CALLERS = 8;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmployeeServiceImpl delegate = mock(EmployeeServiceImpl.class);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CoalescingEmployeeService employeeService;
+    @BeforeEach
+    void setup() {
+        employeeService = new CoalescingEmployeeService(meterRegistry);
+        ReflectionTestUtils.setField(employeeService, "employeeService", delegate);
+    }
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    @Test
+    @DisplayName("Coalesce Concurrent Lookups of the same Employee using Service")
+    void coalesceConcurrentLookupsTest() throws Exception {
+        // Given: A database lookup that blocks until released
+        Employee employee = Employee.builder().id(1L).name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build();
+        given(delegate.getEmployeeById(1L)).will(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+        // When: Several callers ask for the employee while the first lookup is in flight
+        List<Future<Optional<Employee>>> results = callConcurrently(() -> employeeService.getEmployeeById(1L));
+        // Then: Check the database was asked once and every caller got its result
+        for (Future<Optional<Employee>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).containsSame(employee);
+        }
+        verify(delegate, times(1)).getEmployeeById(1L);
+        assertThat(count("by_id", "loaded")).isEqualTo(1);
+        assertThat(count("by_id", "coalesced")).isEqualTo(CALLERS - 1);
+    }
+    @Test
+    @DisplayName("Share Failed Lookup with Waiting Callers using Service")
+    void shareFailedLookupTest() throws Exception {
+        // Given: A database lookup that fails once released
+        given(delegate.getEmployeeById(1L)).will(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new QueryTimeoutException("Lookup timed out");
+        });
+        // When: Several callers wait on the failing lookup, then one asks again
+        List<Future<Optional<Employee>>> results = callConcurrently(() -> employeeService.getEmployeeById(1L));
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<Optional<Employee>> result : results) {
+            try {
+                result.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            }
+        }
+        willReturn(Optional.empty()).given(delegate).getEmployeeById(1L);
+        Optional<Employee> retried = employeeService.getEmployeeById(1L);
+        // Then: Check every caller saw the same failure and the next call loaded again
+        assertThat(failures).hasSize(CALLERS).allMatch(QueryTimeoutException.class::isInstance);
+        assertThat(retried).isEmpty();
+        verify(delegate, times(2)).getEmployeeById(1L);
+    }
+    @Test
+    @DisplayName("Start new Lookup after Updating Employee using Service")
+    void loadAgainAfterUpdateTest() throws Exception {
+        // Given: A lookup in flight that read the employee before it was updated
+        Employee stale = Employee.builder().id(1L).email("old@unsa.edu.pe").build();
+        Employee fresh = Employee.builder().id(1L).email("new@unsa.edu.pe").build();
+        given(delegate.getEmployeeById(1L)).will(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(stale);
+        });
+        Future<Optional<Employee>> first = executor.submit(() -> employeeService.getEmployeeById(1L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        // When: Update the employee and look it up again before the first lookup completes
+        employeeService.updateEmployee(Employee.builder().id(1L).email("new@unsa.edu.pe").build());
+        willReturn(Optional.of(fresh)).given(delegate).getEmployeeById(1L);
+        Optional<Employee> afterUpdate = employeeService.getEmployeeById(1L);
+        release.countDown();
+        // Then: Check the later lookup did not join the stale one
+        assertThat(afterUpdate).containsSame(fresh);
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsSame(stale);
+        verify(delegate).updateEmployee(any(Employee.class));
+    }
+    private <T> List<Future<T>> callConcurrently(Callable<T> call) throws InterruptedException {
+        List<Future<T>> results = new ArrayList<>();
+        results.add(executor.submit(call));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        // Waiting callers block on the in-flight load, so the release only happens once all of them joined it
+        while (count("by_id", "coalesced") < CALLERS - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        return results;
+    }
+    private double count(String call, String result) {
+        return meterRegistry.counter(MetricsConfig.EMPLOYEE_COALESCING, "call", call, "result", result).count();
+    }
+}
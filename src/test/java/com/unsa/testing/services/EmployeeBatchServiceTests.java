@@ -0,0 +1,118 @@
+package com.unsa.testing.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.dto.EmployeeImportStatus;
+import com.unsa.testing.application.services.EmployeeBatchServiceImpl;
+import com.unsa.testing.application.services.EmployeeEmailFilter;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.repositories.EmployeeChangeRepository;
+import com.unsa.testing.domain.repositories.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeBatchServiceTests {
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private EmployeeChangeRepository employeeChangeRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Spy
+    private EmployeeEmailFilter employeeEmailFilter = new EmployeeEmailFilter(1000, 0.01, new SimpleMeterRegistry());
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    @InjectMocks
+    private EmployeeBatchServiceImpl employeeBatchService;
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(employeeBatchService, "batchSize", 2);
+        given(employeeRepository.saveAll(anyList())).willAnswer(invocationOnMock -> {
+            List<Employee> employees = invocationOnMock.getArgument(0);
+            employees.forEach(employee -> employee.setId((long) employee.getEmail().length()));
+            return employees;
+        });
+    }
+    @Test
+    @DisplayName("Import Employees in Chunks using Service")
+    void importEmployeesTest() {
+        // Given: Three new employees and a batch size of two
+        List<Employee> employees = List.of(
+                Employee.builder().name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build(),
+                Employee.builder().name("Eduardo").lastname("Jove").email("angelhincho@gmail.com").build(),
+                Employee.builder().name("Fabiola").lastname("Tapara").email("ftapara@unsa.edu.pe").build());
+        given(employeeRepository.findSavedEmails(anyCollection())).willReturn(List.of());
+        // When: Import the employees using service
+        EmployeeImportReport report = employeeBatchService.importEmployees(employees.iterator());
+        // Then: Check one duplicate query, one flush and one change insert per chunk
+        assertThat(report.getTotal()).isEqualTo(3);
+        assertThat(report.getCreated()).isEqualTo(3);
+        assertThat(report.getRowsPerSecond()).isGreaterThan(0.0);
+        assertThat(report.getResults()).extracting(EmployeeImportResult::getIndex).containsExactly(0, 1, 2);
+        verify(employeeRepository, times(2)).findSavedEmails(anyCollection());
+        verify(employeeRepository, times(2)).flush();
+        verify(employeeChangeRepository, times(2)).recordChanges(eq("CREATED"), anyCollection());
+    }
+    @Test
+    @DisplayName("Import Duplicated and Invalid Employees using Service")
+    void importRejectedEmployeesTest() {
+        // Given: A repeated email in the first chunk, a saved email and an employee without lastname
+        List<Employee> employees = List.of(
+                Employee.builder().name("Eduardo").lastname("Jove").email("angelhincho@gmail.com").build(),
+                Employee.builder().name("Eduardo").lastname("Jove").email("angelhincho@gmail.com").build(),
+                Employee.builder().name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build(),
+                Employee.builder().name("Fabiola").email("ftapara@unsa.edu.pe").build());
+        given(employeeRepository.findSavedEmails(anyCollection()))
+                .willReturn(List.of())
+                .willReturn(List.of("ahincho@unsa.edu.pe"));
+        // When: Import the employees using service
+        EmployeeImportReport report = employeeBatchService.importEmployees(employees.iterator());
+        // Then: Check only the first occurrence of the new email was created
+        assertThat(report.getCreated()).isEqualTo(1);
+        assertThat(report.getRejected()).isEqualTo(3);
+        assertThat(report.getResults()).extracting(EmployeeImportResult::getStatus).containsExactly(
+                EmployeeImportStatus.CREATED,
+                EmployeeImportStatus.DUPLICATED,
+                EmployeeImportStatus.DUPLICATED,
+                EmployeeImportStatus.INVALID);
+        assertThat(report.getResults().get(0).getId()).isNotNull();
+    }
+    @Test
+    @DisplayName("Import New Employees skipping Duplicate Query using Service")
+    void importNewEmployeesTest() {
+        // Given: Email filter loaded with emails other than the imported ones
+        ReflectionTestUtils.setField(employeeEmailFilter, "employeeRepository", employeeRepository);
+        given(employeeRepository.streamAllEmails()).willReturn(Stream.of("ftapara@unsa.edu.pe"));
+        employeeEmailFilter.warm();
+        List<Employee> employees = List.of(
+                Employee.builder().name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build(),
+                Employee.builder().name("Eduardo").lastname("Jove").email("angelhincho@gmail.com").build());
+        // When: Import the employees using service
+        EmployeeImportReport report = employeeBatchService.importEmployees(employees.iterator());
+        // Then: Check the employees were created without looking their emails up
+        assertThat(report.getCreated()).isEqualTo(2);
+        verify(employeeRepository, never()).findSavedEmails(anyCollection());
+        assertThat(employeeEmailFilter.mightContain("ahincho@unsa.edu.pe")).isTrue();
+    }
+}
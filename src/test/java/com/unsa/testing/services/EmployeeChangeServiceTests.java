@@ -0,0 +1,86 @@
+package com.unsa.testing.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.unsa.testing.application.services.EmployeeChangeService;
+import com.unsa.testing.application.services.EmployeeChangeSubscriber;
+import com.unsa.testing.application.services.EmployeeService;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeChange;
+import com.unsa.testing.domain.entities.EmployeeChangeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changes",
+        "employee.changes.poll-interval=10ms"
+})
+public class EmployeeChangeServiceTests {
+    @Autowired
+    private EmployeeChangeService employeeChangeService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Test
+    @DisplayName("Publish Employee Changes in Order and Resume from Offset using Service")
+    void publishAndResumeChangesTest() throws Exception {
+        // Given: A subscriber listening for changes from now on
+        CollectingSubscriber live = new CollectingSubscriber();
+        employeeChangeService.subscribe(null, live);
+        // When: Create, update and delete an employee, then subscribe again after the first change
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .name("Angel").lastname("Hincho").email("ahincho.changes@unsa.edu.pe").build());
+        employeeService.updateEmployee(Employee.builder()
+                .id(employee.getId()).name("Angel").lastname("Hincho").email("angel.changes@unsa.edu.pe").build());
+        employeeService.deleteEmployee(employee.getId());
+        List<EmployeeChange> published = live.take(3);
+        CollectingSubscriber resumed = new CollectingSubscriber();
+        employeeChangeService.subscribe(published.get(0).getId(), resumed);
+        List<EmployeeChange> replayed = resumed.take(2);
+        employeeChangeService.unsubscribe(live);
+        employeeChangeService.unsubscribe(resumed);
+        // Then: Check the changes carry the committed state in order, and the resumed stream replays the rest
+        assertThat(published)
+                .extracting(EmployeeChange::getType, EmployeeChange::getEmployeeId, EmployeeChange::getVersion)
+                .containsExactly(
+                        tuple(EmployeeChangeType.CREATED, employee.getId(), 0L),
+                        tuple(EmployeeChangeType.UPDATED, employee.getId(), 1L),
+                        tuple(EmployeeChangeType.DELETED, employee.getId(), 1L));
+        assertThat(published.get(2).getEmail()).isEqualTo("angel.changes@unsa.edu.pe");
+        assertThat(replayed).extracting(EmployeeChange::getId)
+                .containsExactly(published.get(1).getId(), published.get(2).getId());
+    }
+    private static final class CollectingSubscriber implements EmployeeChangeSubscriber {
+        private final BlockingQueue<EmployeeChange> changes = new LinkedBlockingQueue<>();
+        @Override
+        public void onChange(EmployeeChange change) {
+            changes.add(change);
+        }
+        @Override
+        public void onReset(long offset) {
+        }
+        @Override
+        public void onHeartbeat() {
+        }
+        @Override
+        public void onComplete() {
+        }
+        private List<EmployeeChange> take(int count) throws InterruptedException {
+            List<EmployeeChange> taken = new ArrayList<>();
+            while (taken.size() < count) {
+                EmployeeChange change = changes.poll(5, TimeUnit.SECONDS);
+                assertThat(change).as("change %d of %d", taken.size() + 1, count).isNotNull();
+                taken.add(change);
+            }
+            return taken;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.unsa.testing.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import com.unsa.testing.application.services.EmployeeEmailFilter;
+import com.unsa.testing.domain.repositories.EmployeeRepository;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeEmailFilterTests {
+    @Mock
+    private EmployeeRepository employeeRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeEmailFilter employeeEmailFilter;
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeEmailFilter = new EmployeeEmailFilter(10_000, 0.01, meterRegistry);
+        ReflectionTestUtils.setField(employeeEmailFilter, "employeeRepository", employeeRepository);
+    }
+    @Test
+    @DisplayName("Answer Maybe for Every Email before Warming the Filter")
+    void answerMaybeBeforeWarmingTest() {
+        // Given: Filter that has not loaded the saved emails yet
+        // When: Ask for an email never saved
+        boolean maybe = employeeEmailFilter.mightContain("ahincho@unsa.edu.pe");
+        // Then: Check the lookup is not skipped
+        assertThat(maybe).isTrue();
+    }
+    @Test
+    @DisplayName("Keep Saved Emails and the Configured False Positive Rate")
+    void keepFalsePositiveRateTest() {
+        // Given: Filter warmed with the expected number of emails
+        given(employeeRepository.streamAllEmails()).willReturn(emails("saved", 10_000));
+        employeeEmailFilter.warm();
+        // When: Ask for saved emails, in another case, and for emails never saved
+        long savedFound = emails("SAVED", 10_000).filter(employeeEmailFilter::mightContain).count();
+        long falsePositives = emails("other", 10_000).filter(employeeEmailFilter::mightContain).count();
+        // Then: Check no saved email was ruled out and the reported rate matches the observed one
+        assertThat(savedFound).isEqualTo(10_000);
+        assertThat(falsePositives).isLessThan(200);
+        assertThat(meterRegistry.get(MetricsConfig.EMPLOYEE_EMAIL_FILTER + ".false.positive.rate").gauge().value())
+                .isBetween(0.005, 0.015);
+        assertThat(meterRegistry.get(MetricsConfig.EMPLOYEE_EMAIL_FILTER + ".bytes").gauge().value())
+                .isBetween(11_000.0, 13_000.0);
+        assertThat(meterRegistry.get(MetricsConfig.EMPLOYEE_EMAIL_FILTER).tag("result", "absent").counter().count())
+                .isEqualTo(10_000 - falsePositives);
+    }
+    private static Stream<String> emails(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> prefix + i + "@unsa.edu.pe");
+    }
+}
@@ -0,0 +1,136 @@
+package com.unsa.testing.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.unsa.testing.application.dto.EmployeeExportFormat;
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.dto.EmployeeImportStatus;
+import com.unsa.testing.application.services.EmployeeBatchService;
+import com.unsa.testing.application.services.EmployeeExportService;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.exceptions.InvalidEmployeeException;
+import com.unsa.testing.domain.repositories.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.Deflater;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export",
+        "employee.export.row-group-size=2"
+})
+public class EmployeeExportServiceTests {
+    @Autowired
+    private EmployeeExportService employeeExportService;
+    @Autowired
+    private EmployeeBatchService employeeBatchService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    private List<Long> ids;
+    @BeforeEach
+    void setup() {
+        employeeRepository.deleteAllInBatch();
+        EmployeeImportReport report = employeeBatchService.importEmployees(List.of(
+                Employee.builder().name("Angel").lastname("Hincho").email("ahincho@unsa.edu.pe").build(),
+                Employee.builder().name("Eduardo, \"Lalo\"").lastname("Jove").email("ejove@unsa.edu.pe").build(),
+                Employee.builder().name("Ana").lastname("Quispe").email("aquispe@unsa.edu.pe").build()
+        ).iterator());
+        ids = report.getResults().stream().map(EmployeeImportResult::getId).toList();
+    }
+    @Test
+    @DisplayName("Export and Import Employees as CSV using Service")
+    void exportAndImportCsvTest() throws Exception {
+        // Given: Three saved employees, one of them with a comma and quotes in its name
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        // When: Export them as CSV, delete them and import the file back
+        long lastId = employeeExportService.exportEmployees(EmployeeExportFormat.CSV, null, Channels.newChannel(output));
+        employeeRepository.deleteAllInBatch();
+        EmployeeImportReport report = employeeExportService.importEmployees(EmployeeExportFormat.CSV,
+                Channels.newChannel(new ByteArrayInputStream(output.toByteArray())));
+        // Then: Check the file quotes the name and the import recreates every employee
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lastId).isEqualTo(ids.get(2));
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo("id,name,lastname,email,version,updated_at");
+        assertThat(lines.get(2)).startsWith(ids.get(1) + ",\"Eduardo, \"\"Lalo\"\"\",Jove,ejove@unsa.edu.pe,0,");
+        assertThat(report.getCreated()).isEqualTo(3);
+        assertThat(report.getResults()).isEmpty();
+        assertThat(employeeRepository.findAll())
+                .extracting(Employee::getName)
+                .containsExactlyInAnyOrder("Angel", "Eduardo, \"Lalo\"", "Ana");
+    }
+    @Test
+    @DisplayName("Export Employees after Checkpoint as Columnar File using Service")
+    void exportColumnarAfterCheckpointTest() throws Exception {
+        // Given: Three saved employees and the id of the first one as checkpoint
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        // When: Export the rest in two row groups and import the file into the same table
+        long lastId = employeeExportService.exportEmployees(EmployeeExportFormat.COLUMNAR, ids.get(0), Channels.newChannel(output));
+        EmployeeImportReport report = employeeExportService.importEmployees(EmployeeExportFormat.COLUMNAR,
+                Channels.newChannel(new ByteArrayInputStream(output.toByteArray())));
+        // Then: Check only the rows after the checkpoint were read back, and that they are already saved
+        assertThat(lastId).isEqualTo(ids.get(2));
+        assertThat(report.getResults())
+                .extracting(EmployeeImportResult::getEmail, EmployeeImportResult::getStatus)
+                .containsExactly(
+                        tuple("ejove@unsa.edu.pe", EmployeeImportStatus.DUPLICATED),
+                        tuple("aquispe@unsa.edu.pe", EmployeeImportStatus.DUPLICATED));
+    }
+    @Test
+    @DisplayName("Reject Columnar Files with Oversized or Truncated Row Groups using Service")
+    void rejectCorruptColumnarFileTest() {
+        // Given: A row group header asking for two billion rows, and a group whose columns end after one id
+        ByteBuffer oversized = ByteBuffer.allocate(17).put(new byte[]{'E', 'M', 'P', 'C', 1})
+                .putInt(Integer.MAX_VALUE).putInt(Integer.MAX_VALUE).putInt(Integer.MAX_VALUE);
+        Deflater deflater = new Deflater();
+        deflater.setInput(new byte[]{1});
+        deflater.finish();
+        byte[] compressed = new byte[64];
+        int compressedLength = deflater.deflate(compressed);
+        deflater.end();
+        ByteBuffer truncated = ByteBuffer.allocate(17 + compressedLength).put(new byte[]{'E', 'M', 'P', 'C', 1})
+                .putInt(2).putInt(1).putInt(compressedLength).put(compressed, 0, compressedLength);
+        // When: Import both files
+        Throwable oversizedException = catchThrowable(() -> employeeExportService.importEmployees(EmployeeExportFormat.COLUMNAR,
+                Channels.newChannel(new ByteArrayInputStream(oversized.array()))));
+        Throwable truncatedException = catchThrowable(() -> employeeExportService.importEmployees(EmployeeExportFormat.COLUMNAR,
+                Channels.newChannel(new ByteArrayInputStream(truncated.array()))));
+        // Then: Check both are rejected as invalid input before allocating or reading past the columns
+        assertThat(oversizedException).isInstanceOf(InvalidEmployeeException.class).hasMessageContaining("row group of");
+        assertThat(truncatedException).isInstanceOf(InvalidEmployeeException.class).hasMessageContaining("truncated");
+    }
+    @Test
+    @DisplayName("Resume Export to File from Checkpoint using Service")
+    void resumeExportToFileTest(@TempDir Path directory) throws Exception {
+        // Given: A file already exported and an employee saved afterwards
+        Path file = directory.resolve("employees.csv");
+        employeeExportService.exportEmployees(EmployeeExportFormat.CSV, file);
+        EmployeeImportReport added = employeeBatchService.importEmployees(List.of(
+                Employee.builder().name("Rosa").lastname("Mamani").email("rmamani@unsa.edu.pe").build()).iterator());
+        // When: Run the export again on the same file
+        long lastId = employeeExportService.exportEmployees(EmployeeExportFormat.CSV, file);
+        // Then: Check only the new employee was appended and the checkpoint moved to it
+        long newId = added.getResults().get(0).getId();
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lastId).isEqualTo(newId);
+        assertThat(lines).hasSize(5);
+        assertThat(lines.get(4)).startsWith(newId + ",Rosa,Mamani,");
+        assertThat(Files.readString(directory.resolve("employees.csv.checkpoint")))
+                .isEqualTo(newId + " " + Files.size(file));
+    }
+}
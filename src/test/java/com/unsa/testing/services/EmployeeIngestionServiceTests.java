@@ -0,0 +1,147 @@
+package com.unsa.testing.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.dto.EmployeeImportStatus;
+import com.unsa.testing.application.dto.EmployeeIngestion;
+import com.unsa.testing.application.dto.EmployeeIngestionStatus;
+import com.unsa.testing.application.services.EmployeeBatchService;
+import com.unsa.testing.application.services.EmployeeEmailFilter;
+import com.unsa.testing.application.services.EmployeeIngestionServiceImpl;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.exceptions.EmployeeIsSavedException;
+import com.unsa.testing.domain.exceptions.IngestionQueueFullException;
+import com.unsa.testing.domain.exceptions.InvalidEmployeeException;
+import com.unsa.testing.domain.repositories.EmployeeRepository;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeIngestionServiceTests {
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private EmployeeBatchService employeeBatchService;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeIngestionServiceImpl employeeIngestionService;
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        employeeIngestionService = new EmployeeIngestionServiceImpl(2, Duration.ofMinutes(1), meterRegistry);
+        ReflectionTestUtils.setField(employeeIngestionService, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(employeeIngestionService, "employeeBatchService", employeeBatchService);
+        ReflectionTestUtils.setField(employeeIngestionService, "employeeEmailFilter", new EmployeeEmailFilter(1000, 0.01, meterRegistry));
+        ReflectionTestUtils.setField(employeeIngestionService, "batchSize", 10);
+        ReflectionTestUtils.setField(employeeIngestionService, "linger", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(employeeIngestionService, "shutdownTimeout", Duration.ofSeconds(5));
+    }
+    @Test
+    @DisplayName("Queue Employees and Drain on Shutdown using Service")
+    void drainOnShutdownTest() {
+        // Given: Two employees queued before the writer runs
+        given(employeeRepository.findSavedEmails(anyCollection())).willReturn(List.of());
+        given(employeeBatchService.importEmployees(any())).willAnswer(invocationOnMock -> created(invocationOnMock.getArgument(0)));
+        ReflectionTestUtils.setField(employeeIngestionService, "running", true);
+        EmployeeIngestion first = employeeIngestionService.submit(employee("ahincho@unsa.edu.pe"));
+        EmployeeIngestion second = employeeIngestionService.submit(employee("ftapara@unsa.edu.pe"));
+        assertThat(first.getStatus()).isEqualTo(EmployeeIngestionStatus.QUEUED);
+        // When: Start the writer and stop it right away
+        employeeIngestionService.start();
+        employeeIngestionService.stop();
+        // Then: Check both employees were written in one coalesced batch
+        verify(employeeBatchService, times(1)).importEmployees(any());
+        assertThat(employeeIngestionService.getIngestion(first.getTicket()).get().getStatus()).isEqualTo(EmployeeIngestionStatus.CREATED);
+        assertThat(employeeIngestionService.getIngestion(second.getTicket()).get().getId()).isEqualTo(2L);
+        assertThat(employeeIngestionService.isRunning()).isFalse();
+    }
+    @Test
+    @DisplayName("Reject Employees when the Queue is Full using Service")
+    void queueFullTest() {
+        // Given: A queue of two employees that is not being drained
+        given(employeeRepository.findSavedEmails(anyCollection())).willReturn(List.of());
+        ReflectionTestUtils.setField(employeeIngestionService, "running", true);
+        employeeIngestionService.submit(employee("ahincho@unsa.edu.pe"));
+        employeeIngestionService.submit(employee("ftapara@unsa.edu.pe"));
+        // When: Submit a third employee then throw Exception
+        assertThrows(IngestionQueueFullException.class, () -> {
+            employeeIngestionService.submit(employee("angelhincho@gmail.com"));
+        });
+        // Then: Check the queue depth is exposed as a gauge
+        assertThat(meterRegistry.get(MetricsConfig.EMPLOYEE_INGESTION_QUEUE).gauge().value()).isEqualTo(2.0);
+    }
+    @Test
+    @DisplayName("Reject Duplicated Emails Already Queued using Service")
+    void duplicatedQueuedEmailTest() {
+        // Given: An employee queued but not written yet
+        given(employeeRepository.findSavedEmails(anyCollection())).willReturn(List.of());
+        ReflectionTestUtils.setField(employeeIngestionService, "running", true);
+        employeeIngestionService.submit(employee("ahincho@unsa.edu.pe"));
+        // When: Submit the same email then throw Exception
+        assertThrows(EmployeeIsSavedException.class, () -> {
+            employeeIngestionService.submit(employee("ahincho@unsa.edu.pe"));
+        });
+        // Then: Check the database was only asked about the first submission
+        verify(employeeRepository, times(1)).findSavedEmails(anyCollection());
+    }
+    @Test
+    @DisplayName("Reject Saved Emails and Invalid Employees using Service")
+    void rejectBeforeQueueingTest() {
+        // Given: An email already saved on Database
+        given(employeeRepository.findSavedEmails(anyCollection())).willReturn(List.of("ahincho@unsa.edu.pe"));
+        ReflectionTestUtils.setField(employeeIngestionService, "running", true);
+        // When: Submit the saved email and an employee without name
+        // Then: Check both are rejected without reaching the writer
+        assertThrows(EmployeeIsSavedException.class, () -> {
+            employeeIngestionService.submit(employee("ahincho@unsa.edu.pe"));
+        });
+        assertThrows(InvalidEmployeeException.class, () -> {
+            employeeIngestionService.submit(Employee.builder().lastname("Hincho").email("ftapara@unsa.edu.pe").build());
+        });
+        verify(employeeBatchService, never()).importEmployees(any());
+    }
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .name("Angel")
+                .lastname("Hincho")
+                .email(email)
+                .build();
+    }
+    private static EmployeeImportReport created(Iterator<Employee> employees) {
+        List<EmployeeImportResult> results = new ArrayList<>();
+        while (employees.hasNext()) {
+            Employee employee = employees.next();
+            results.add(EmployeeImportResult.builder()
+                    .index(results.size())
+                    .status(EmployeeImportStatus.CREATED)
+                    .id(results.size() + 1L)
+                    .email(employee.getEmail())
+                    .build());
+        }
+        return EmployeeImportReport.builder()
+                .total(results.size())
+                .created(results.size())
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.unsa.testing.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.unsa.testing.application.services.EmployeeService;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.repositories.EmployeeRepository;
+import com.unsa.testing.infrastructure.config.CacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@SpringBootTest
+public class EmployeeServiceCacheTests {
+    @MockBean
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private Employee employee;
+    @BeforeEach
+    void setup() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES).clear();
+        employee = Employee.builder()
+                .id(1L)
+                .name("Angel")
+                .lastname("Hincho")
+                .email("ahincho@unsa.edu.pe")
+                .build();
+    }
+    @Test
+    @DisplayName("Get Cached Employee By Id using Service")
+    void getCachedEmployeeByIdTest() {
+        // Given: Employee recorded on Database
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        double hits = cacheGets("hit");
+        // When: Recover the employee twice
+        employeeService.getEmployeeById(1L);
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(1L);
+        // Then: Check the Database was queried only once and the hit was counted
+        assertThat(cachedEmployee).contains(employee);
+        verify(employeeRepository, times(1)).findById(1L);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+    }
+    @Test
+    @DisplayName("Get Missing Employee By Id is not Cached using Service")
+    void getMissingEmployeeByIdTest() {
+        // Given: No employee recorded on Database
+        given(employeeRepository.findById(1L)).willReturn(Optional.empty());
+        // When: Look for the employee twice
+        employeeService.getEmployeeById(1L);
+        Optional<Employee> missingEmployee = employeeService.getEmployeeById(1L);
+        // Then: Check the miss was not cached
+        assertThat(missingEmployee).isEmpty();
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+    @Test
+    @DisplayName("Get Version of Cached Employee without Query using Service")
+    void getCachedEmployeeVersionTest() {
+        // Given: Employee cached after a first read
+        employee.setVersion(3L);
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        employeeService.getEmployeeById(1L);
+        // When: Revalidate the cached employee and one that is not cached
+        Optional<Long> cachedVersion = employeeService.getEmployeeVersion(1L);
+        given(employeeRepository.findVersionById(2L)).willReturn(Optional.of(7L));
+        Optional<Long> queriedVersion = employeeService.getEmployeeVersion(2L);
+        // Then: Check only the miss read the version column
+        assertThat(cachedVersion).contains(3L);
+        assertThat(queriedVersion).contains(7L);
+        verify(employeeRepository, never()).findVersionById(1L);
+        verify(employeeRepository, times(1)).findVersionById(2L);
+    }
+    @Test
+    @DisplayName("Update Evicts Cached Employee using Service")
+    void updateEvictsCachedEmployeeTest() {
+        // Given: Employee cached after a first read
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeRepository.updateById(eq(1L), any(), any(), any(), any(Instant.class))).willReturn(1);
+        given(employeeRepository.findVersionById(1L)).willReturn(Optional.of(1L));
+        employeeService.getEmployeeById(1L);
+        // When: Update the employee then read it again
+        employeeService.updateEmployee(Employee.builder()
+                .id(1L)
+                .name("Eduardo")
+                .lastname("Jove")
+                .email("angelhincho@gmail.com")
+                .build());
+        employeeService.getEmployeeById(1L);
+        // Then: Check the Database was queried again for the new version
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+    @Test
+    @DisplayName("Conditional Update Refreshes Cached Employee using Service")
+    void conditionalUpdateRefreshesCachedEmployeeTest() {
+        // Given: Employee cached after a first read
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeRepository.updateIfVersionMatches(eq(1L), eq(0L), any(), any(), any(), any(Instant.class))).willReturn(1);
+        employeeService.getEmployeeById(1L);
+        // When: Update the employee at a known version then read it again
+        employeeService.updateEmployee(Employee.builder()
+                .id(1L)
+                .name("Eduardo")
+                .lastname("Jove")
+                .email("angelhincho@gmail.com")
+                .build(), 0L);
+        Employee cachedEmployee = employeeService.getEmployeeById(1L).get();
+        // Then: Check the refreshed value is served from the cache
+        assertThat(cachedEmployee.getName()).isEqualTo("Eduardo");
+        assertThat(cachedEmployee.getVersion()).isEqualTo(1L);
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+    @Test
+    @DisplayName("Delete Evicts Cached Employee using Service")
+    void deleteEvictsCachedEmployeeTest() {
+        // Given: Employee cached after a first read
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        employeeService.getEmployeeById(1L);
+        // When: Delete the employee then read it again
+        employeeService.deleteEmployee(1L);
+        employeeService.getEmployeeById(1L);
+        // Then: Check the Database was queried again
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.EMPLOYEES)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,73 @@
+package com.unsa.testing.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.unsa.testing.application.services.EmployeeService;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.exceptions.EmployeeIsSavedException;
+import com.unsa.testing.infrastructure.config.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class EmployeeServiceMetricsTests {
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MockMvc mockMvc;
+    @Test
+    @DisplayName("Time Service Operations by Method and Exception")
+    void timeServiceOperationsTest() {
+        // Given: Employee saved using service
+        Employee employee = Employee.builder()
+                .name("Angel")
+                .lastname("Hincho")
+                .email("metrics@unsa.edu.pe")
+                .build();
+        employeeService.saveEmployee(employee);
+        // When: Save the same email again
+        assertThrows(EmployeeIsSavedException.class, () -> employeeService.saveEmployee(Employee.builder()
+                .name("Eduardo")
+                .lastname("Jove")
+                .email("metrics@unsa.edu.pe")
+                .build()));
+        // Then: Check one successful and one failed call were timed
+        assertThat(timerCount("saveEmployee", "none")).isEqualTo(1);
+        assertThat(timerCount("saveEmployee", "EmployeeIsSavedException")).isEqualTo(1);
+    }
+    @Test
+    @DisplayName("Expose Service, Pool and Hibernate Metrics to Prometheus")
+    void prometheusScrapeTest() throws Exception {
+        // Given: A lookup recorded by the service
+        employeeService.getEmployeeById(-1L);
+        // When: Scrape the Prometheus endpoint
+        // Then: Check service histograms, Hikari pool and Hibernate statistics are exposed
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("employee_service_seconds_bucket")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_statements")));
+    }
+    private long timerCount(String method, String exception) {
+        return meterRegistry.get(MetricsConfig.EMPLOYEE_SERVICE)
+                .tag("method", method)
+                .tag("exception", exception)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,81 @@
+package com.unsa.testing.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.unsa.testing.application.services.EmployeeService;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.infrastructure.config.CacheConfig;
+import com.unsa.testing.infrastructure.config.ReplicaConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary",
+        "employee.replica.datasource.jdbc-url=jdbc:h2:mem:routing_replica"
+})
+@ActiveProfiles(ReplicaConfig.PROFILE)
+public class EmployeeServiceReplicaTests {
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @BeforeEach
+    void setup() {
+        cacheManager.getCache(CacheConfig.EMPLOYEES).clear();
+    }
+    @Test
+    @DisplayName("Route Transactions by Read Only Flag")
+    void routeTransactionsByReadOnlyFlagTest() {
+        // Given: A read only and a read write transaction
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        // When: Ask each one which database it is connected to
+        Object replica = readOnly.execute(status -> entityManager.createNativeQuery("select database()").getSingleResult());
+        Object primary = readWrite.execute(status -> entityManager.createNativeQuery("select database()").getSingleResult());
+        // Then: Check the read only transaction used the replica
+        assertThat(replica).isEqualTo("ROUTING_REPLICA");
+        assertThat(primary).isEqualTo("ROUTING_PRIMARY");
+    }
+    @Test
+    @DisplayName("Read Employee from Replica after Saving on Primary")
+    void readEmployeeFromReplicaTest() {
+        // Given: Employee saved through the service
+        double primaryBefore = connections("primary");
+        Employee employee = employeeService.saveEmployee(Employee.builder()
+                .name("Angel")
+                .lastname("Hincho")
+                .email("replica@unsa.edu.pe")
+                .build());
+        cacheManager.getCache(CacheConfig.EMPLOYEES).clear();
+        double replicaBefore = connections("replica");
+        // When: Recover the employee by id
+        Optional<Employee> recovered = employeeService.getEmployeeById(employee.getId());
+        // Then: Check the write borrowed from the primary pool and the lookup from the replica pool
+        assertThat(recovered).map(Employee::getEmail).contains("replica@unsa.edu.pe");
+        assertThat(connections("primary")).isGreaterThan(primaryBefore);
+        assertThat(connections("replica")).isEqualTo(replicaBefore + 1);
+    }
+    private double connections(String pool) {
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", pool).timer();
+        return usage == null ? 0 : usage.count();
+    }
+}
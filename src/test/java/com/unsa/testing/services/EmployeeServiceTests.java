@@ -1,32 +1,61 @@
 package com.unsa.testing.services;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeField;
+import com.unsa.testing.application.dto.EmployeeSearchCriteria;
+import com.unsa.testing.application.dto.EmployeeSortField;
+import com.unsa.testing.application.services.EmployeeEmailFilter;
 import com.unsa.testing.application.services.EmployeeServiceImpl;
 import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
 import com.unsa.testing.domain.exceptions.EmployeeIsSavedException;
+import com.unsa.testing.domain.exceptions.EmployeeVersionMismatchException;
+import com.unsa.testing.domain.exceptions.InvalidSearchException;
+import com.unsa.testing.domain.exceptions.ResourceNotFoundException;
+import com.unsa.testing.domain.repositories.EmployeeChangeRepository;
 import com.unsa.testing.domain.repositories.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 public class EmployeeServiceTests {
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private EmployeeChangeRepository employeeChangeRepository;
+    @Spy
+    private EmployeeEmailFilter employeeEmailFilter = new EmployeeEmailFilter(1000, 0.01, new SimpleMeterRegistry());
     @InjectMocks
     private EmployeeServiceImpl employeeService;
     private Employee employee;
@@ -41,62 +70,204 @@ public class EmployeeServiceTests {
     @Test
     @DisplayName("Save Employee using Service")
     void saveEmployeeTest() {
-        // Given: Non saved employee on Database
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.empty());
         // Given: Save employee on Database
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(savedEmployee(1L));
         // When: Save employee using service
         Employee savedEmployee = employeeService.saveEmployee(employee);
-        // Then: Check that employee was recorded on Database
+        // Then: Check that employee was recorded on Database in a single insert, along with its change
         assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(any());
+        verify(employeeChangeRepository).recordChanges("CREATED", List.of(1L));
     }
     @Test
     @DisplayName("Save Duplicated Employee using Service")
     void saveDuplicatedEmployeeTest() {
         // Given: Duplicated employee already recorded on Database
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee)).willThrow(emailConflict());
         // When: Record the same employee on Database then throw Exception
         assertThrows(EmployeeIsSavedException.class, () -> {
             employeeService.saveEmployee(employee);
         });
-        // Then: Verify previous employee is already recorded on Database
-        verify(employeeRepository, never()).save(any(Employee.class));
+        // Then: Verify the conflict was detected by the insert itself and no change was recorded
+        verify(employeeRepository, never()).findByEmail(any());
+        verify(employeeChangeRepository, never()).recordChanges(any(), anyCollection());
+    }
+    @Test
+    @DisplayName("Save Employee Violating Other Constraint using Service")
+    void saveEmployeeOtherViolationTest() {
+        // Given: Employee rejected by a constraint other than the unique email
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException(), "PUBLIC.CONSTRAINT_NAME"));
+        given(employeeRepository.saveAndFlush(employee)).willThrow(violation);
+        // When: Record the employee then throw Exception
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () -> {
+            employeeService.saveEmployee(employee);
+        });
+        // Then: Verify the original exception is kept
+        assertThat(exception).isSameAs(violation);
+    }
+    @Test
+    @DisplayName("Save Employee with New Email skipping Lookup using Service")
+    void saveEmployeeWithNewEmailTest() {
+        // Given: Email filter loaded with other saved emails
+        warmEmailFilter("ftapara@unsa.edu.pe");
+        given(employeeRepository.saveAndFlush(employee)).willReturn(savedEmployee(1L));
+        // When: Save employee using service
+        employeeService.saveEmployee(employee);
+        // Then: Check the filter ruled the email out without a lookup
+        verify(employeeRepository, never()).existsByEmail(any());
+        verify(employeeRepository, times(1)).saveAndFlush(employee);
+    }
+    @Test
+    @DisplayName("Save Replayed Employee rejected by Lookup using Service")
+    void saveReplayedEmployeeTest() {
+        // Given: Email filter loaded with the saved email
+        warmEmailFilter("AHincho@unsa.edu.pe");
+        given(employeeRepository.existsByEmail(employee.getEmail())).willReturn(true);
+        // When: Record the same employee on Database then throw Exception
+        assertThrows(EmployeeIsSavedException.class, () -> {
+            employeeService.saveEmployee(employee);
+        });
+        // Then: Verify the insert was never attempted
+        verify(employeeRepository, never()).saveAndFlush(any());
+    }
+    private static EmployeeSummary summary(Long id, Employee employee) {
+        return EmployeeSummary.builder()
+                .id(id)
+                .name(employee.getName())
+                .lastname(employee.getLastname())
+                .email(employee.getEmail())
+                .build();
+    }
+    private void warmEmailFilter(String... emails) {
+        ReflectionTestUtils.setField(employeeEmailFilter, "employeeRepository", employeeRepository);
+        given(employeeRepository.streamAllEmails()).willReturn(Stream.of(emails));
+        employeeEmailFilter.warm();
+    }
+    private Employee savedEmployee(Long id) {
+        return Employee.builder()
+                .id(id)
+                .name(employee.getName())
+                .lastname(employee.getLastname())
+                .email(employee.getEmail())
+                .version(0L)
+                .build();
+    }
+    private DataIntegrityViolationException emailConflict() {
+        return new DataIntegrityViolationException("duplicated email",
+                new ConstraintViolationException("duplicated email", new SQLException(), "PUBLIC.UK_EMPLOYEES_EMAIL_INDEX_A"));
     }
     @Test
     @DisplayName("Get All Employees using Service")
     void getAllEmployeesTest() {
         // Given: Employees recorded on Database
-        Employee employee1 = Employee.builder()
+        EmployeeSummary employee1 = EmployeeSummary.builder()
                 .id(2L)
                 .name("Eduardo")
                 .lastname("Jove")
                 .email("angelhincho@gmail.com")
                 .build();
-        given(employeeRepository.findAll()).willReturn(List.of(employee, employee1));
+        given(employeeRepository.findAllSummaries()).willReturn(List.of(summary(1L, employee), employee1));
         // When: List All Employees recorded on Database
-        List<Employee> employees = employeeService.getAllEmployees();
-        // Then: Check the employees recorded previously
+        List<EmployeeSummary> employees = employeeService.getAllEmployees();
+        // Then: Check the employees recorded previously were read as summaries
         assertThat(employees).isNotNull();
         assertThat(employees.size()).isEqualTo(2);
+        verify(employeeRepository, never()).findAll();
     }
     @Test
     @DisplayName("Get Employees From Empty Database Test")
     void getAllEmployeesFromEmptyDatabaseTest() {
-        // Given: Employee to record and empty Database
-        Employee employee1 = Employee.builder()
+        // Given: Empty Database
+        given(employeeRepository.findAllSummaries()).willReturn(Collections.emptyList());
+        // When: Get all employees from Database
+        List<EmployeeSummary> employees = employeeService.getAllEmployees();
+        // Then: Check if the employees list is empty
+        assertThat(employees).isEmpty();
+        assertThat(employees.size()).isEqualTo(0);
+    }
+    @Test
+    @DisplayName("Get Employees Page Test using Service")
+    @SuppressWarnings("unchecked")
+    void getEmployeesPageTest() {
+        // Given: A full page of employees recorded after the cursor
+        EmployeeSummary employee1 = EmployeeSummary.builder()
                 .id(2L)
                 .name("Eduardo")
                 .lastname("Jove")
                 .email("angelhincho@gmail.com")
                 .build();
-        given(employeeRepository.findAll()).willReturn(Collections.emptyList());
-        // When: Get all employees from Database then record new employee
-        List<Employee> employees = employeeService.getAllEmployees();
-        // Then: Check if the employees list is empty
-        assertThat(employees).isEmpty();
-        assertThat(employees.size()).isEqualTo(0);
+        given(employeeRepository.findSummaries(any(Specification.class), eq(Sort.by("id")), eq(2), anyCollection()))
+                .willReturn(List.of(summary(1L, employee), employee1));
+        // When: Recover the first page of employees
+        CursorPage<EmployeeSummary> page = employeeService.getEmployeesPage(null, 2, EnumSet.allOf(EmployeeField.class));
+        // Then: Check the content and the cursor to the next page
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getNext()).isEqualTo("2");
+    }
+    @Test
+    @DisplayName("Get Last Employees Page Test using Service")
+    @SuppressWarnings("unchecked")
+    void getLastEmployeesPageTest() {
+        // Given: Fewer employees than the requested size after the cursor
+        given(employeeRepository.findSummaries(any(Specification.class), eq(Sort.by("id")), eq(EmployeeServiceImpl.MAX_PAGE_SIZE), anyCollection()))
+                .willReturn(List.of(summary(7L, employee)));
+        // When: Recover the page asking for more than the maximum size
+        CursorPage<EmployeeSummary> page = employeeService.getEmployeesPage(6L, 10_000, EnumSet.allOf(EmployeeField.class));
+        // Then: Check there is no next page
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getNext()).isNull();
+    }
+    @Test
+    @DisplayName("Get Employees Page with Selected Fields Test using Service")
+    @SuppressWarnings("unchecked")
+    void getEmployeesPageWithFieldsTest() {
+        // Given: A page of employees recorded on Database
+        given(employeeRepository.findSummaries(any(Specification.class), any(Sort.class), eq(50), anyCollection()))
+                .willReturn(List.of());
+        // When: Recover the page asking only for the email
+        employeeService.getEmployeesPage(null, 50, EnumSet.of(EmployeeField.EMAIL));
+        // Then: Check only the email and the columns backing cursors and ETags were selected
+        verify(employeeRepository).findSummaries(any(Specification.class), any(Sort.class), eq(50),
+                eq(List.of("id", "email", "version")));
+    }
+    @Test
+    @DisplayName("Search Employees Test using Service")
+    @SuppressWarnings("unchecked")
+    void searchEmployeesTest() {
+        // Given: A full page of employees matching the search
+        EmployeeSummary employee1 = EmployeeSummary.builder()
+                .id(2L)
+                .name("Angela")
+                .lastname("Quispe")
+                .email("aquispe@unsa.edu.pe")
+                .build();
+        given(employeeRepository.findSummaries(any(Specification.class), any(Sort.class), eq(2), anyCollection()))
+                .willReturn(List.of(summary(1L, employee), employee1));
+        // When: Search the first page sorted by name
+        CursorPage<EmployeeSummary> page = employeeService.searchEmployees(EmployeeSearchCriteria.builder()
+                .name("Ang")
+                .sort(EmployeeSortField.NAME)
+                .size(2)
+                .build());
+        // Then: Check the cursor carries the sorted value and the id of the last row
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(new String(Base64.getUrlDecoder().decode(page.getNext()), StandardCharsets.UTF_8))
+                .isEqualTo("Angela\n2");
+    }
+    @Test
+    @DisplayName("Search Employees with Invalid Cursor Test using Service")
+    void searchEmployeesInvalidCursorTest() {
+        // Given: A cursor that was not issued by the service
+        EmployeeSearchCriteria criteria = EmployeeSearchCriteria.builder()
+                .sort(EmployeeSortField.NAME)
+                .after("not a cursor")
+                .size(10)
+                .build();
+        // When: Search with the cursor then throw Exception
+        assertThrows(InvalidSearchException.class, () -> {
+            employeeService.searchEmployees(criteria);
+        });
     }
     @Test
     @DisplayName("Get Employee By Id Test using Service")
@@ -118,7 +289,10 @@ public class EmployeeServiceTests {
     @DisplayName("Update Employee Test using Service")
     void updateEmployeeTest() {
         // Given: Recorded employee on Database
-        given(employeeRepository.save(employee)).willReturn(employee);
+        employee.setId(1L);
+        given(employeeRepository.updateById(eq(1L), eq("Angel Eduardo"), eq("Hincho Jove"), eq("angelhincho@unsa.edu.pe"), any(Instant.class)))
+                .willReturn(1);
+        given(employeeRepository.findVersionById(1L)).willReturn(Optional.of(4L));
         employee.setName("Angel Eduardo");
         employee.setLastname("Hincho Jove");
         employee.setEmail("angelhincho@unsa.edu.pe");
@@ -128,16 +302,95 @@ public class EmployeeServiceTests {
         assertThat(updatedEmployee.getName()).isEqualTo("Angel Eduardo");
         assertThat(updatedEmployee.getLastname()).isEqualTo("Hincho Jove");
         assertThat(updatedEmployee.getEmail()).isEqualTo("angelhincho@unsa.edu.pe");
+        assertThat(updatedEmployee.getVersion()).isEqualTo(4L);
+        verify(employeeRepository, never()).findById(any());
+    }
+    @Test
+    @DisplayName("Update Missing Employee Test using Service")
+    void updateMissingEmployeeTest() {
+        // Given: No recorded employee
+        employee.setId(1L);
+        given(employeeRepository.updateById(eq(1L), any(), any(), any(), any(Instant.class))).willReturn(0);
+        // When: Update the employee then throw Exception
+        assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.updateEmployee(employee);
+        });
+    }
+    @Test
+    @DisplayName("Update Employee with Duplicated Email Test using Service")
+    void updateEmployeeDuplicatedEmailTest() {
+        // Given: Another employee already recorded with the new email
+        employee.setId(1L);
+        given(employeeRepository.updateById(eq(1L), any(), any(), any(), any(Instant.class))).willThrow(emailConflict());
+        // When: Update the employee then throw Exception
+        assertThrows(EmployeeIsSavedException.class, () -> {
+            employeeService.updateEmployee(employee);
+        });
+    }
+    @Test
+    @DisplayName("Update Employee If Version Matches Test using Service")
+    void updateEmployeeIfVersionMatchesTest() {
+        // Given: Recorded employee still at version 3
+        employee.setId(1L);
+        given(employeeRepository.updateIfVersionMatches(eq(1L), eq(3L), eq("Angel"), eq("Hincho"), eq("ahincho@unsa.edu.pe"), any(Instant.class)))
+                .willReturn(1);
+        // When: Update the employee expecting version 3
+        Employee updatedEmployee = employeeService.updateEmployee(employee, 3L);
+        // Then: Check the new version without reading the employee
+        assertThat(updatedEmployee.getVersion()).isEqualTo(4L);
+        assertThat(updatedEmployee.getUpdatedAt()).isNotNull();
+        verify(employeeRepository, never()).findById(any());
+    }
+    @Test
+    @DisplayName("Update Stale Employee Test using Service")
+    void updateStaleEmployeeTest() {
+        // Given: Recorded employee already past version 3
+        employee.setId(1L);
+        given(employeeRepository.updateIfVersionMatches(eq(1L), eq(3L), any(), any(), any(), any(Instant.class)))
+                .willReturn(0);
+        given(employeeRepository.existsById(1L)).willReturn(true);
+        // When: Update the employee expecting version 3 then throw Exception
+        assertThrows(EmployeeVersionMismatchException.class, () -> {
+            employeeService.updateEmployee(employee, 3L);
+        });
+    }
+    @Test
+    @DisplayName("Update Missing Employee If Version Matches Test using Service")
+    void updateMissingEmployeeIfVersionMatchesTest() {
+        // Given: No recorded employee
+        employee.setId(1L);
+        given(employeeRepository.updateIfVersionMatches(eq(1L), eq(3L), any(), any(), any(), any(Instant.class)))
+                .willReturn(0);
+        given(employeeRepository.existsById(1L)).willReturn(false);
+        // When: Update the employee expecting version 3 then throw Exception
+        assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.updateEmployee(employee, 3L);
+        });
     }
     @Test
     @DisplayName("Delete Employee Test using Service")
     void deleteEmployeeTest() {
+        // Given: Saved employee on Database
+        long employeeId = 1L;
+        given(employeeRepository.deleteEmployeeById(employeeId)).willReturn(1);
+        // When: Try to delete employee from Database
+        boolean deleted = employeeService.deleteEmployee(employeeId);
+        // Then: Verify the change was recorded before a single delete statement removed the employee
+        assertThat(deleted).isTrue();
+        InOrder order = inOrder(employeeChangeRepository, employeeRepository);
+        order.verify(employeeChangeRepository).recordChanges("DELETED", List.of(employeeId));
+        order.verify(employeeRepository, times(1)).deleteEmployeeById(employeeId);
+        verify(employeeRepository, never()).deleteById(employeeId);
+    }
+    @Test
+    @DisplayName("Delete Missing Employee Test using Service")
+    void deleteMissingEmployeeTest() {
         // Given: No saved employees on Database
         long employeeId = 1L;
-        willDoNothing().given(employeeRepository).deleteById(employeeId);
+        given(employeeRepository.deleteEmployeeById(employeeId)).willReturn(0);
         // When: Try to delete employee from Database
-        employeeService.deleteEmployee(employeeId);
-        // Then: Verify call to the delete by id operation
-        verify(employeeRepository, times(1)).deleteById(employeeId);
+        boolean deleted = employeeService.deleteEmployee(employeeId);
+        // Then: Verify nothing was deleted
+        assertThat(deleted).isFalse();
     }
 }
@@ -0,0 +1,107 @@
+package com.unsa.testing.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.unsa.testing.application.dto.CursorPage;
+import com.unsa.testing.application.dto.EmployeeImportReport;
+import com.unsa.testing.application.dto.EmployeeImportResult;
+import com.unsa.testing.application.dto.EmployeeImportStatus;
+import com.unsa.testing.application.dto.EmployeeSearchCriteria;
+import com.unsa.testing.application.dto.EmployeeSearchMatch;
+import com.unsa.testing.application.dto.EmployeeSortField;
+import com.unsa.testing.application.services.EmployeeBatchService;
+import com.unsa.testing.application.services.EmployeeChangeService;
+import com.unsa.testing.application.services.EmployeeEmailFilter;
+import com.unsa.testing.application.services.EmployeeExportService;
+import com.unsa.testing.application.services.EmployeeIngestionService;
+import com.unsa.testing.application.services.EmployeeService;
+import com.unsa.testing.application.services.OffHeapEmployeeServiceImpl;
+import com.unsa.testing.domain.entities.Employee;
+import com.unsa.testing.domain.entities.EmployeeSummary;
+import com.unsa.testing.infrastructure.EmployeeTableController;
+import com.unsa.testing.infrastructure.config.OffHeapConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:offheap")
+@ActiveProfiles(OffHeapConfig.PROFILE)
+public class OffHeapEmployeeServiceTests {
+    @TempDir
+    private static Path directory;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeBatchService employeeBatchService;
+    @Autowired
+    private ApplicationContext applicationContext;
+    @DynamicPropertySource
+    static void offHeapProperties(DynamicPropertyRegistry registry) {
+        registry.add("employee.offheap.directory", directory::toString);
+        registry.add("employee.offheap.segment-size", () -> "64KB");
+    }
+    @Test
+    @DisplayName("Import and Search Employees in Off-Heap Store using Service")
+    void importAndSearchTest() {
+        // Given: Employees imported in one batch, with an invalid row and a repeated email
+        EmployeeImportReport report = employeeBatchService.importEmployees(Arrays.asList(
+                Employee.builder().name("Ana").lastname("Quispe").email("aquispe@offheap.pe").build(),
+                Employee.builder().name("Angel").lastname("Hincho").email("ahincho@offheap.pe").build(),
+                Employee.builder().name("Eduardo").lastname("Jove").email("ejove@offheap.pe").build(),
+                Employee.builder().name("Angel").lastname("Cruz").email("acruz@offheap.pe").build(),
+                Employee.builder().name("").lastname("Mamani").email("mamani@offheap.pe").build(),
+                Employee.builder().name("Ana").lastname("Quispe").email("aquispe@offheap.pe").build()
+        ).iterator());
+        // When: Search names starting with "An" sorted by name descending, two employees per page
+        List<EmployeeSummary> found = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            CursorPage<EmployeeSummary> page = employeeService.searchEmployees(EmployeeSearchCriteria.builder()
+                    .name("An")
+                    .match(EmployeeSearchMatch.PREFIX)
+                    .sort(EmployeeSortField.NAME)
+                    .direction(Sort.Direction.DESC)
+                    .after(after)
+                    .size(2)
+                    .build());
+            found.addAll(page.getContent());
+            after = page.getNext();
+            pages++;
+        } while (after != null);
+        // Then: Check the import statuses and that the pages follow the name and id order without repeats
+        assertThat(employeeService).isInstanceOf(OffHeapEmployeeServiceImpl.class);
+        assertThat(report.getResults()).extracting(EmployeeImportResult::getStatus).containsExactly(
+                EmployeeImportStatus.CREATED, EmployeeImportStatus.CREATED, EmployeeImportStatus.CREATED,
+                EmployeeImportStatus.CREATED, EmployeeImportStatus.INVALID, EmployeeImportStatus.DUPLICATED);
+        List<Long> ids = report.getResults().stream().map(EmployeeImportResult::getId).toList();
+        assertThat(found).extracting(EmployeeSummary::getId).containsExactly(ids.get(3), ids.get(1), ids.get(0));
+        assertThat(pages).isEqualTo(2);
+        assertThat(employeeService.getEmployeeById(ids.get(2))).get().extracting(Employee::getEmail)
+                .isEqualTo("ejove@offheap.pe");
+    }
+    @Test
+    @DisplayName("Leave Table Features out of Off-Heap Profile")
+    void leaveTableFeaturesOutTest() {
+        // Given: The application started with the off-heap profile
+        // When: Look up the beans that read or write the employees table directly
+        // Then: Check none of them is created, so no endpoint answers from a table the store never fills
+        assertThat(applicationContext.getBeanNamesForType(EmployeeTableController.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(EmployeeIngestionService.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(EmployeeExportService.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(EmployeeChangeService.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(EmployeeEmailFilter.class)).isEmpty();
+    }
+}